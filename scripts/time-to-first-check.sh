@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+#
+# Measures the time from launching the application to its first successful mortgage check, which is what a
+# scale-out on a traffic burst waits for. The launch command is run several times; each run is polled with
+# POST /api/v1/mortgage-check until it answers 200, then stopped.
+#
+# Usage: scripts/time-to-first-check.sh [-n runs] [-p port] [-u user:password] -- <launch command...>
+#
+# Examples:
+#   scripts/time-to-first-check.sh -- java --add-modules jdk.incubator.vector -jar target/backend-mortgage-system-1.0-SNAPSHOT.jar
+#   scripts/time-to-first-check.sh -n 5 -- docker run --rm -p 8080:8080 backend-mortgage-system
+#
+set -euo pipefail
+
+runs=5
+port=8080
+credentials=user:password
+while getopts "n:p:u:" option; do
+  case "$option" in
+    n) runs=$OPTARG ;;
+    p) port=$OPTARG ;;
+    u) credentials=$OPTARG ;;
+    *) sed -n '7p' "$0" >&2; exit 2 ;;
+  esac
+done
+shift $((OPTIND - 1))
+[ "${1:-}" = "--" ] && shift
+if [ $# -eq 0 ]; then
+  sed -n '7p' "$0" >&2
+  exit 2
+fi
+
+url="http://localhost:$port/api/v1/mortgage-check"
+body='{"income":75000,"loanValue":250000,"homeValue":300000,"maturityPeriod":20}'
+timeout_ms=180000
+times=()
+
+for run in $(seq 1 "$runs"); do
+  start=$(date +%s%N)
+  # own process group, so the whole launch command can be stopped
+  setsid "$@" > "/tmp/time-to-first-check-$run.log" 2>&1 &
+  pid=$!
+  elapsed=-1
+  while kill -0 "$pid" 2>/dev/null; do
+    status=$(curl -s -o /dev/null -w '%{http_code}' -u "$credentials" -H 'Content-Type: application/json' \
+      -d "$body" "$url" || true)
+    now=$(date +%s%N)
+    if [ "$status" = "200" ]; then
+      elapsed=$(( (now - start) / 1000000 ))
+      break
+    fi
+    if [ $(( (now - start) / 1000000 )) -gt $timeout_ms ]; then
+      break
+    fi
+    sleep 0.05
+  done
+  kill -TERM -- "-$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  if [ "$elapsed" -lt 0 ]; then
+    echo "run $run: no successful mortgage check, see /tmp/time-to-first-check-$run.log" >&2
+    exit 1
+  fi
+  echo "run $run: ${elapsed} ms"
+  times+=("$elapsed")
+done
+
+sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+echo "median: ${sorted[$(( runs / 2 ))]} ms (min ${sorted[0]} ms, max ${sorted[$(( runs - 1 ))]} ms)"
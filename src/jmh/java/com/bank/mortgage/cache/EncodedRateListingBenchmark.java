@@ -0,0 +1,82 @@
+package com.bank.mortgage.cache;
+
+import com.bank.mortgage.model.InterestRateResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares answering GET /api/v1/interest-rates by serializing and gzipping the cached listing on
+ * every request with copying the bytes encoded once per rate set version.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodedRateListingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<InterestRateResponse> rates;
+    private EncodedRateListing listing;
+    private final ByteArrayOutputStream response = new ByteArrayOutputStream(4096);
+
+    @Setup
+    public void setUp() {
+        // a rate for every year up to 40
+        rates = new ArrayList<>();
+        for (int maturityPeriod = 1; maturityPeriod <= 40; maturityPeriod++) {
+            rates.add(new InterestRateResponse(maturityPeriod, 2.5 + maturityPeriod / 20.0, new Timestamp(System.currentTimeMillis())));
+        }
+        listing = EncodedRateListing.encode(rates, objectMapper);
+    }
+
+    @Benchmark
+    public int serializeJson() throws IOException {
+        response.reset();
+        objectMapper.writeValue(response, rates);
+        return response.size();
+    }
+
+    @Benchmark
+    public int serializeAndGzip() throws IOException {
+        response.reset();
+        try (OutputStream gzip = new GZIPOutputStream(response)) {
+            objectMapper.writeValue(gzip, rates);
+        }
+        return response.size();
+    }
+
+    @Benchmark
+    public int encodedJson() {
+        response.reset();
+        response.writeBytes(listing.reuseFor(rates, objectMapper).bytes(EncodedRateListing.Coding.IDENTITY));
+        return response.size();
+    }
+
+    @Benchmark
+    public int encodedGzip() {
+        response.reset();
+        response.writeBytes(listing.reuseFor(rates, objectMapper).bytes(EncodedRateListing.Coding.GZIP));
+        return response.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.bank.mortgage.cache;
+
+import com.bank.mortgage.model.InterestRate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures pricing a maturity period on the rate curve, for a listed period and for one between
+ * two listed periods. Run with {@code -prof gc} to confirm that a lookup does not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class InterestRateCurveBenchmark {
+
+    @Param({"EXACT", "NEAREST", "INTERPOLATED"})
+    private InterestRateCurve.Lookup lookup;
+
+    private InterestRateSnapshot snapshot;
+
+    // fields rather than constants, so the JIT cannot fold the lookup away
+    private int listedPeriod = 20;
+    private int unlistedPeriod = 23;
+
+    @Setup
+    public void setUp() {
+        // a rate for every fifth year up to 40, as in a typical published rate table
+        List<InterestRate> rates = new ArrayList<>();
+        for (int maturityPeriod = 5; maturityPeriod <= 40; maturityPeriod += 5) {
+            rates.add(new InterestRate(UUID.randomUUID(), maturityPeriod, 2.5 + maturityPeriod / 20.0,
+                    new Timestamp(System.currentTimeMillis())));
+        }
+        snapshot = InterestRateSnapshot.of(rates, lookup);
+    }
+
+    @Benchmark
+    public double listedPeriod() {
+        return snapshot.rate(listedPeriod);
+    }
+
+    @Benchmark
+    public double unlistedPeriod() {
+        return snapshot.rate(unlistedPeriod);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.bank.mortgage.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures verifying HTTP Basic credentials with plain BCrypt and with {@link CachingPasswordEncoder}
+ * once the credentials have been verified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class PasswordEncoderBenchmark {
+
+    private final PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+    private final PasswordEncoder caching = new CachingPasswordEncoder(bcrypt, Duration.ofMinutes(5), 1000);
+
+    private String password = "password";
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        encodedPassword = bcrypt.encode(password);
+        caching.matches(password, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean bcrypt() {
+        return bcrypt.matches(password, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean cachedVerification() {
+        return caching.matches(password, encodedPassword);
+    }
+}
\ No newline at end of file
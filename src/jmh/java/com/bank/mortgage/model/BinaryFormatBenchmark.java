@@ -0,0 +1,89 @@
+package com.bank.mortgage.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON with the CBOR and Smile binary formats for the payloads partners exchange with
+ * the API: reading a {@link MortgageCheckRequest}, writing a {@link MortgageCheckResponse} and
+ * writing the interest rate listing. The size of each payload on the wire is printed once per
+ * format before the measurements start.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectWriter listingWriter;
+
+    private byte[] requestBytes;
+    private final MortgageCheckResponse response = new MortgageCheckResponse(true, 1449.89);
+    private List<InterestRateResponse> rates;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        } else if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        }
+        ObjectMapper objectMapper = builder.build();
+        requestReader = objectMapper.readerFor(MortgageCheckRequest.class);
+        responseWriter = objectMapper.writerFor(MortgageCheckResponse.class);
+        listingWriter = objectMapper.writer();
+
+        requestBytes = objectMapper.writeValueAsBytes(new MortgageCheckRequest(75000.0, 250000.0, 300000.0, 20));
+        // a rate for every year up to 40
+        rates = new ArrayList<>();
+        for (int maturityPeriod = 1; maturityPeriod <= 40; maturityPeriod++) {
+            rates.add(new InterestRateResponse(maturityPeriod, 2.5 + maturityPeriod / 20.0, new Timestamp(System.currentTimeMillis())));
+        }
+        System.out.printf("%n%s bytes: request=%d response=%d listing=%d%n", format, requestBytes.length,
+                responseWriter.writeValueAsBytes(response).length, listingWriter.writeValueAsBytes(rates).length);
+    }
+
+    @Benchmark
+    public MortgageCheckRequest readRequest() throws IOException {
+        return requestReader.readValue(requestBytes);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeRateListing() throws IOException {
+        return listingWriter.writeValueAsBytes(rates);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.bank.mortgage.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a {@link MortgageCheckRequest} from and writing a {@link MortgageCheckResponse}
+ * to JSON bytes, with an {@link ObjectMapper} configured like the one Spring MVC uses, and reading
+ * the items of a batch the way MortgageBatchService does. Run with {@code -prof gc} to see the
+ * bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class JsonMappingBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+
+    private final byte[] requestJson = ("{\"income\":75000.0,\"loanValue\":250000.0,"
+            + "\"homeValue\":300000.0,\"maturityPeriod\":20}").getBytes(StandardCharsets.UTF_8);
+    private final MortgageCheckResponse response = new MortgageCheckResponse(true, 1449.89);
+    private byte[] batchJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestReader = objectMapper.readerFor(MortgageCheckRequest.class);
+        responseWriter = objectMapper.writerFor(MortgageCheckResponse.class);
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.append(i == 0 ? "" : ",").append(new String(requestJson, StandardCharsets.UTF_8));
+        }
+        batchJson = batch.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public MortgageCheckRequest readRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    /**
+     * Reads a batch of {@value #BATCH_SIZE} requests from one parser; divide by the batch size for
+     * the cost per item.
+     */
+    @Benchmark
+    public double readBatch() throws IOException {
+        double loanValues = 0;
+        try (JsonParser parser = objectMapper.createParser(batchJson)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                MortgageCheckRequest request = requestReader.readValue(parser);
+                loanValues += request.getLoanValue();
+            }
+        }
+        return loanValues;
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.cache.InterestRateCurve;
+import com.bank.mortgage.cache.QuoteCache;
+import com.bank.mortgage.exception.MaxLoanExceededException;
+import com.bank.mortgage.limit.AdaptiveConcurrencyLimiter;
+import com.bank.mortgage.logging.RequestLogSampler;
+import com.bank.mortgage.metrics.MortgageMetrics;
+import com.bank.mortgage.model.InterestRate;
+import com.bank.mortgage.model.MortgageCheckRequest;
+import com.bank.mortgage.model.MortgageCheckResponse;
+import com.bank.mortgage.repository.InterestRateRepository;
+import com.bank.mortgage.strategy.StandardMortgageCalculator;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MortgageService#calculateMortgage(MortgageCheckRequest)} for an accepted
+ * application and for one over the maximum loan, rejected in each {@link MortgageService.RejectionMode}:
+ * by throwing {@link MaxLoanExceededException}, and by returning a not feasible response. The
+ * accepted application is also measured as a hit in the {@link QuoteCache}.
+ * <p>
+ * The repository is only read once, when the rate snapshot is loaded during setup, so the
+ * measured path is validation, snapshot lookup and calculation. Checks are log-sampled at the
+ * production rates, and logging is configured at WARN by {@code logback-test.xml}, so sampled log
+ * statements are evaluated but not written. Timings
+ * are recorded into a Prometheus registry, as in the application.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MortgageServiceBenchmark {
+
+    private MortgageService mortgageService;
+    private MortgageService respondingMortgageService;
+    private MortgageService quoteCachingMortgageService;
+
+    private final MortgageCheckRequest acceptedRequest = new MortgageCheckRequest(75000.0, 250000.0, 300000.0, 20);
+    private final MortgageCheckRequest rejectedRequest = new MortgageCheckRequest(50000.0, 250000.0, 300000.0, 20);
+
+    @Setup
+    public void setUp() {
+        InterestRateRepository repository = Mockito.mock(InterestRateRepository.class);
+        Mockito.when(repository.findAll()).thenReturn(Arrays.asList(
+                rate(10, 3.0),
+                rate(20, 3.5),
+                rate(30, 4.0)));
+        InterestRateService interestRateService = new InterestRateService(repository, event -> { }, InterestRateCurve.Lookup.EXACT);
+        interestRateService.refreshRates();
+        MortgageMetrics mortgageMetrics = new MortgageMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        RequestLogSampler logSampler = new RequestLogSampler(0.01, 0.1, 1.0);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 20, 4, 200,
+                Duration.ofMillis(250), 0.9, Duration.ofSeconds(1));
+        mortgageService = new MortgageService(interestRateService, new StandardMortgageCalculator(),
+                mortgageMetrics, logSampler, new QuoteCache(false, 0), limiter, MortgageService.RejectionMode.EXCEPTION);
+        respondingMortgageService = new MortgageService(interestRateService, new StandardMortgageCalculator(),
+                mortgageMetrics, logSampler, new QuoteCache(false, 0), limiter, MortgageService.RejectionMode.RESPONSE);
+        quoteCachingMortgageService = new MortgageService(interestRateService, new StandardMortgageCalculator(),
+                mortgageMetrics, logSampler, new QuoteCache(true, 10_000), limiter, MortgageService.RejectionMode.EXCEPTION);
+    }
+
+    @Benchmark
+    public MortgageCheckResponse accepted() {
+        return mortgageService.calculateMortgage(acceptedRequest);
+    }
+
+    @Benchmark
+    public MortgageCheckResponse acceptedQuoteCacheHit() {
+        return quoteCachingMortgageService.calculateMortgage(acceptedRequest);
+    }
+
+    @Benchmark
+    public Object rejectedMaxLoan() {
+        try {
+            return mortgageService.calculateMortgage(rejectedRequest);
+        } catch (MaxLoanExceededException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public MortgageCheckResponse rejectedMaxLoanResponse() {
+        return respondingMortgageService.calculateMortgage(rejectedRequest);
+    }
+
+    private static InterestRate rate(int maturityPeriod, double interestRate) {
+        return new InterestRate(UUID.randomUUID(), maturityPeriod, interestRate, new Timestamp(System.currentTimeMillis()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.bank.mortgage.strategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares pricing a column of loans one {@code calculateMonthlyCost} call at a time with the
+ * scalar and the vectorized batch kernels.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchCalculationBenchmark {
+
+    @Param({"1024", "65536"})
+    private int loans;
+
+    private final StandardMortgageCalculator calculator = new StandardMortgageCalculator();
+    private final AnnuityBatchKernel scalarKernel = new ScalarAnnuityBatchKernel();
+    private final AnnuityBatchKernel vectorKernel = new VectorAnnuityBatchKernel();
+
+    private double[] loanValues;
+    private double[] interestRates;
+    private int[] maturityPeriods;
+    private double[] monthlyCosts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        loanValues = new double[loans];
+        interestRates = new double[loans];
+        maturityPeriods = new int[loans];
+        monthlyCosts = new double[loans];
+        for (int i = 0; i < loans; i++) {
+            loanValues[i] = 50000 + random.nextInt(950000);
+            interestRates[i] = 0.5 + random.nextInt(900) / 100.0;
+            maturityPeriods[i] = 5 + random.nextInt(26);
+        }
+    }
+
+    @Benchmark
+    public double[] perLoan() {
+        for (int i = 0; i < loans; i++) {
+            monthlyCosts[i] = calculator.calculateMonthlyCost(loanValues[i], interestRates[i], maturityPeriods[i]);
+        }
+        return monthlyCosts;
+    }
+
+    @Benchmark
+    public double[] scalarKernel() {
+        scalarKernel.calculate(loanValues, interestRates, maturityPeriods, monthlyCosts);
+        return monthlyCosts;
+    }
+
+    @Benchmark
+    public double[] vectorKernel() {
+        vectorKernel.calculate(loanValues, interestRates, maturityPeriods, monthlyCosts);
+        return monthlyCosts;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.bank.mortgage.strategy;
+
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.cache.InterestRatesRefreshedEvent;
+import com.bank.mortgage.model.InterestRate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single {@link StandardMortgageCalculator#calculateMonthlyCost} call, both for a rate
+ * found in the annuity factor table and for one that falls back to the formula.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MortgageCalculatorBenchmark {
+
+    private final StandardMortgageCalculator calculator = new StandardMortgageCalculator();
+
+    // fields rather than constants, so the JIT cannot fold the calculation away
+    private double loanValue = 250000;
+    private double tabulatedRate = 3.5;
+    private double untabulatedRate = 3.75;
+    private int maturityPeriod = 20;
+
+    @Setup
+    public void setUp() {
+        calculator.onInterestRatesRefreshed(new InterestRatesRefreshedEvent(InterestRateSnapshot.of(Arrays.asList(
+                rate(10, 3.0),
+                rate(20, 3.5),
+                rate(30, 4.0)))));
+    }
+
+    private static InterestRate rate(int maturityPeriod, double interestRate) {
+        return new InterestRate(UUID.randomUUID(), maturityPeriod, interestRate, new Timestamp(System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public double tabulatedRate() {
+        return calculator.calculateMonthlyCost(loanValue, tabulatedRate, maturityPeriod);
+    }
+
+    @Benchmark
+    public double untabulatedRate() {
+        return calculator.calculateMonthlyCost(loanValue, untabulatedRate, maturityPeriod);
+    }
+}
\ No newline at end of file
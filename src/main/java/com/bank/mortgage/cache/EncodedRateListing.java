@@ -0,0 +1,193 @@
+package com.bank.mortgage.cache;
+
+import com.bank.mortgage.model.InterestRateResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The interest rate listing serialized once, in JSON or in a binary format such as CBOR, together
+ * with its gzip and deflate compressed forms, so a response is a copy of ready-made bytes rather
+ * than a serialization and a compression per request. Instances are immutable and live as long as
+ * the rate set they encode.
+ */
+public final class EncodedRateListing {
+
+    /**
+     * Content codings the listing is available in, in order of preference.
+     */
+    public enum Coding {
+        GZIP("gzip"),
+        DEFLATE("deflate"),
+        IDENTITY("identity");
+
+        private final String token;
+
+        Coding(String token) {
+            this.token = token;
+        }
+
+        public String getToken() {
+            return token;
+        }
+    }
+
+    private final List<InterestRateResponse> source;
+    private final long version;
+    private final Timestamp latestUpdate;
+    private final byte[] serialized;
+    private final byte[] gzip;
+    private final byte[] deflate;
+
+    private EncodedRateListing(List<InterestRateResponse> source, long version, Timestamp latestUpdate,
+                               byte[] serialized, byte[] gzip, byte[] deflate) {
+        this.source = source;
+        this.version = version;
+        this.latestUpdate = latestUpdate;
+        this.serialized = serialized;
+        this.gzip = gzip;
+        this.deflate = deflate;
+    }
+
+    /**
+     * Encodes a rate listing.
+     *
+     * @param rates        The rate listing.
+     * @param objectMapper Mapper used for the uncompressed form, so it matches what the message
+     *                     converter of its data format would write.
+     * @return The encoded listing.
+     */
+    public static EncodedRateListing encode(List<InterestRateResponse> rates, ObjectMapper objectMapper) {
+        Timestamp latest = null;
+        for (InterestRateResponse rate : rates) {
+            if (rate.getLastUpdate() != null && (latest == null || rate.getLastUpdate().after(latest))) {
+                latest = rate.getLastUpdate();
+            }
+        }
+        try {
+            byte[] serialized = objectMapper.writeValueAsBytes(rates);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(serialized.length / 2 + 32);
+            try (OutputStream out = new GZIPOutputStream(gzip)) {
+                out.write(serialized);
+            }
+            ByteArrayOutputStream deflate = new ByteArrayOutputStream(serialized.length / 2 + 32);
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (OutputStream out = new DeflaterOutputStream(deflate, deflater)) {
+                out.write(serialized);
+            } finally {
+                deflater.end();
+            }
+            return new EncodedRateListing(rates, InterestRateSnapshot.versionOf(rates), latest,
+                    serialized, gzip.toByteArray(), deflate.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns this encoding if it was made from the same rates as {@code rates}, or a new encoding
+     * otherwise. The cached listing is normally the very same list instance, which is recognized
+     * without hashing it.
+     *
+     * @param rates        The current rate listing.
+     * @param objectMapper Mapper used if the listing has to be encoded again.
+     * @return An encoding of {@code rates}.
+     */
+    public EncodedRateListing reuseFor(List<InterestRateResponse> rates, ObjectMapper objectMapper) {
+        if (rates == source) {
+            return this;
+        }
+        if (InterestRateSnapshot.versionOf(rates) == version) {
+            return new EncodedRateListing(rates, version, latestUpdate, serialized, gzip, deflate);
+        }
+        return encode(rates, objectMapper);
+    }
+
+    /**
+     * Picks the preferred coding the client accepts: gzip, then deflate, then none. Codings with
+     * {@code q=0} are refused, and {@code *} only accepts codings that are not named; quality
+     * values are otherwise not ranked.
+     *
+     * @param acceptEncoding The Accept-Encoding header, or {@code null}.
+     * @return The coding to send.
+     */
+    public static Coding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return Coding.IDENTITY;
+        }
+        boolean gzip = false;
+        boolean gzipRefused = false;
+        boolean deflate = false;
+        boolean deflateRefused = false;
+        boolean any = false;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean refused = isRefused(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip |= !refused;
+                gzipRefused |= refused;
+            } else if (coding.equals("deflate")) {
+                deflate |= !refused;
+                deflateRefused |= refused;
+            } else if (coding.equals("*")) {
+                any |= !refused;
+            }
+        }
+        if (gzip || any && !gzipRefused) {
+            return Coding.GZIP;
+        }
+        return deflate || any && !deflateRefused ? Coding.DEFLATE : Coding.IDENTITY;
+    }
+
+    private static boolean isRefused(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim()) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the listing in the given coding. The array is shared and must not be modified.
+     *
+     * @param coding The content coding.
+     * @return The encoded bytes.
+     */
+    public byte[] bytes(Coding coding) {
+        switch (coding) {
+            case GZIP:
+                return gzip;
+            case DEFLATE:
+                return deflate;
+            default:
+                return serialized;
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The most recent {@code lastUpdate} of the listing, or {@code null} if it has none.
+     */
+    public Timestamp getLatestUpdate() {
+        return latestUpdate;
+    }
+}
\ No newline at end of file
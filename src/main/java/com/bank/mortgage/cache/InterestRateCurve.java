@@ -0,0 +1,98 @@
+package com.bank.mortgage.cache;
+
+import java.util.Arrays;
+
+/**
+ * Interest rate curve over the maturity periods of the rate table, able to price maturity periods
+ * the table does not list.
+ * <p>
+ * Maturity periods and rates are held in parallel sorted primitive arrays, so a lookup is one
+ * binary search plus at most one interpolation step: O(log n), lock-free and allocation-free.
+ */
+public final class InterestRateCurve {
+
+    /**
+     * How a maturity period without its own row in the rate table is priced.
+     */
+    public enum Lookup {
+        /**
+         * Not priced; only maturity periods in the table have a rate.
+         */
+        EXACT,
+        /**
+         * The rate of the longest listed period not longer than the requested one. Periods shorter
+         * than the shortest listed one are not priced.
+         */
+        FLOOR,
+        /**
+         * The rate of the closest listed period; on a tie, the shorter one.
+         */
+        NEAREST,
+        /**
+         * Linear interpolation between the two neighbouring listed periods, and the rate of the
+         * first or last listed period beyond either end of the curve.
+         */
+        INTERPOLATED
+    }
+
+    private final int[] maturityPeriods;
+    private final double[] rates;
+    private final Lookup lookup;
+
+    /**
+     * @param maturityPeriods Maturity periods in ascending order, without duplicates.
+     * @param rates           Interest rate for each maturity period.
+     * @param lookup          How periods between or beyond the listed ones are priced.
+     */
+    InterestRateCurve(int[] maturityPeriods, double[] rates, Lookup lookup) {
+        if (maturityPeriods.length != rates.length) {
+            throw new IllegalArgumentException("maturityPeriods and rates must have the same length");
+        }
+        this.maturityPeriods = maturityPeriods;
+        this.rates = rates;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Prices a maturity period.
+     *
+     * @param maturityPeriod The maturity period of the mortgage.
+     * @return The interest rate, or {@code NaN} if the curve cannot price the period.
+     */
+    public double rate(int maturityPeriod) {
+        int count = maturityPeriods.length;
+        int index = Arrays.binarySearch(maturityPeriods, maturityPeriod);
+        if (index >= 0) {
+            return rates[index];
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        // first listed period longer than the requested one
+        int upper = -index - 1;
+        switch (lookup) {
+            case FLOOR:
+                return upper > 0 ? rates[upper - 1] : Double.NaN;
+            case NEAREST:
+                if (upper == 0 || upper == count) {
+                    return rates[upper == 0 ? 0 : count - 1];
+                }
+                return maturityPeriod - maturityPeriods[upper - 1] <= maturityPeriods[upper] - maturityPeriod
+                        ? rates[upper - 1]
+                        : rates[upper];
+            case INTERPOLATED:
+                if (upper == 0 || upper == count) {
+                    return rates[upper == 0 ? 0 : count - 1];
+                }
+                double weight = (double) (maturityPeriod - maturityPeriods[upper - 1])
+                        / (maturityPeriods[upper] - maturityPeriods[upper - 1]);
+                return rates[upper - 1] + weight * (rates[upper] - rates[upper - 1]);
+            default:
+                return Double.NaN;
+        }
+    }
+
+    public Lookup getLookup() {
+        return lookup;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.bank.mortgage.cache;
+
+import com.bank.mortgage.model.InterestRate;
+import com.bank.mortgage.model.InterestRateResponse;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, maturity-indexed view of the interest rate table.
+ * <p>
+ * Maturity periods are kept in a sorted primitive array, so a lookup is a binary search that
+ * neither locks nor allocates. A snapshot always holds the whole table, which means a maturity
+ * period missing from it is a cached miss and never needs a database round trip. Periods the table
+ * does not list are priced by the snapshot's {@link InterestRateCurve}.
+ * <p>
+ * The most recent {@code lastUpdate} of its rows is the snapshot's watermark: rows changed after
+ * it can be fetched on their own and merged with {@link #withUpdates(Collection)}.
+ * <p>
+ * Each snapshot also has a version: a hash of its rows that does not depend on their order and
+ * is the same on every instance holding the same rates, so it can serve as an HTTP entity tag.
+ */
+public final class InterestRateSnapshot {
+
+    public static final InterestRateSnapshot EMPTY = new InterestRateSnapshot(new int[0], new InterestRate[0], InterestRateCurve.Lookup.EXACT);
+
+    private final int[] maturityPeriods;
+    private final InterestRate[] interestRates;
+    private final InterestRateCurve curve;
+    private final Timestamp latestUpdate;
+    private final long version;
+
+    private InterestRateSnapshot(int[] maturityPeriods, InterestRate[] interestRates, InterestRateCurve.Lookup lookup) {
+        this.maturityPeriods = maturityPeriods;
+        this.interestRates = interestRates;
+        double[] rates = new double[interestRates.length];
+        Timestamp latest = null;
+        long rowVersions = 0;
+        for (int i = 0; i < interestRates.length; i++) {
+            InterestRate rate = interestRates[i];
+            rates[i] = rate.getInterestRate();
+            if (isNewer(rate, latest)) {
+                latest = rate.getLastUpdate();
+            }
+            rowVersions += rowVersion(rate.getMaturityPeriod(), rate.getInterestRate(), rate.getLastUpdate());
+        }
+        this.curve = new InterestRateCurve(maturityPeriods, rates, lookup);
+        this.latestUpdate = latest;
+        this.version = rowVersions;
+    }
+
+    /**
+     * Builds a snapshot from the given rows that only prices the maturity periods they list.
+     *
+     * @param rates The interest rate rows.
+     * @return The snapshot.
+     */
+    public static InterestRateSnapshot of(Collection<InterestRate> rates) {
+        return of(rates, InterestRateCurve.Lookup.EXACT);
+    }
+
+    /**
+     * Builds a snapshot from the given rows. Rows are copied so the snapshot never shares state
+     * with managed entities; when a maturity period occurs more than once the most recently
+     * updated row wins.
+     *
+     * @param rates  The interest rate rows.
+     * @param lookup How the snapshot prices maturity periods the rows do not list.
+     * @return The snapshot.
+     */
+    public static InterestRateSnapshot of(Collection<InterestRate> rates, InterestRateCurve.Lookup lookup) {
+        TreeMap<Integer, InterestRate> byMaturity = new TreeMap<>();
+        for (InterestRate rate : rates) {
+            InterestRate existing = byMaturity.get(rate.getMaturityPeriod());
+            if (existing == null || isNewer(rate, existing)) {
+                byMaturity.put(rate.getMaturityPeriod(), rate);
+            }
+        }
+
+        int[] maturityPeriods = new int[byMaturity.size()];
+        InterestRate[] interestRates = new InterestRate[byMaturity.size()];
+        int i = 0;
+        for (Map.Entry<Integer, InterestRate> entry : byMaturity.entrySet()) {
+            InterestRate rate = entry.getValue();
+            maturityPeriods[i] = entry.getKey();
+            interestRates[i] = new InterestRate(rate.getId(), rate.getMaturityPeriod(), rate.getInterestRate(), rate.getLastUpdate());
+            i++;
+        }
+        return new InterestRateSnapshot(maturityPeriods, interestRates, lookup);
+    }
+
+    /**
+     * Builds the snapshot that results from applying changed rows to this one. A changed row
+     * replaces the row of its maturity period unless it was updated before it; unchanged rows
+     * are shared with this snapshot rather than copied.
+     *
+     * @param changed Rows updated since about this snapshot's watermark, possibly including rows
+     *                this snapshot already holds.
+     * @return The new snapshot, or this snapshot if none of the rows changes it.
+     */
+    public InterestRateSnapshot withUpdates(Collection<InterestRate> changed) {
+        TreeMap<Integer, InterestRate> byMaturity = null;
+        for (InterestRate rate : changed) {
+            InterestRate existing = byMaturity != null ? byMaturity.get(rate.getMaturityPeriod()) : find(rate.getMaturityPeriod());
+            if (existing != null && (isNewer(existing, rate.getLastUpdate()) || existing.equals(rate))) {
+                continue;
+            }
+            if (byMaturity == null) {
+                byMaturity = new TreeMap<>();
+                for (int i = 0; i < maturityPeriods.length; i++) {
+                    byMaturity.put(maturityPeriods[i], interestRates[i]);
+                }
+            }
+            byMaturity.put(rate.getMaturityPeriod(),
+                    new InterestRate(rate.getId(), rate.getMaturityPeriod(), rate.getInterestRate(), rate.getLastUpdate()));
+        }
+        if (byMaturity == null) {
+            return this;
+        }
+
+        int[] mergedPeriods = new int[byMaturity.size()];
+        InterestRate[] mergedRates = new InterestRate[byMaturity.size()];
+        int i = 0;
+        for (Map.Entry<Integer, InterestRate> entry : byMaturity.entrySet()) {
+            mergedPeriods[i] = entry.getKey();
+            mergedRates[i] = entry.getValue();
+            i++;
+        }
+        return new InterestRateSnapshot(mergedPeriods, mergedRates, curve.getLookup());
+    }
+
+    /**
+     * Finds the interest rate for a maturity period. The returned instance is shared by all
+     * readers of this snapshot and must be treated as read-only.
+     *
+     * @param maturityPeriod The maturity period of the mortgage.
+     * @return The interest rate, or {@code null} if the table has no rate for the period.
+     */
+    public InterestRate find(int maturityPeriod) {
+        int index = Arrays.binarySearch(maturityPeriods, maturityPeriod);
+        return index >= 0 ? interestRates[index] : null;
+    }
+
+    /**
+     * Prices a maturity period on this snapshot's rate curve.
+     *
+     * @param maturityPeriod The maturity period of the mortgage.
+     * @return The interest rate, or {@code NaN} if the curve cannot price the period.
+     */
+    public double rate(int maturityPeriod) {
+        return curve.rate(maturityPeriod);
+    }
+
+    public InterestRateCurve getCurve() {
+        return curve;
+    }
+
+    /**
+     * Returns the rates of this snapshot ordered by maturity period. The instances are shared and
+     * must be treated as read-only.
+     *
+     * @return Unmodifiable list of the rates.
+     */
+    public List<InterestRate> getRates() {
+        return Collections.unmodifiableList(Arrays.asList(interestRates));
+    }
+
+    public int size() {
+        return maturityPeriods.length;
+    }
+
+    /**
+     * Returns the watermark of this snapshot: the most recent {@code lastUpdate} of its rows.
+     *
+     * @return The watermark, or {@code null} if no row has a {@code lastUpdate}.
+     */
+    public Timestamp getLatestUpdate() {
+        return latestUpdate;
+    }
+
+    /**
+     * Returns the version of this snapshot, which changes whenever a rate, maturity period or
+     * {@code lastUpdate} does.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Computes the version of a rate listing the same way as {@link #getVersion()}, so a listing
+     * and a snapshot holding the same rates have the same version.
+     *
+     * @param rates The rate listing.
+     * @return The version.
+     */
+    public static long versionOf(Collection<InterestRateResponse> rates) {
+        long rowVersions = 0;
+        for (InterestRateResponse rate : rates) {
+            rowVersions += rowVersion(rate.getMaturityPeriod(), rate.getInterestRate(), rate.getLastUpdate());
+        }
+        return rowVersions;
+    }
+
+    /**
+     * Hashes one row. Row hashes are summed, so the version does not depend on row order.
+     */
+    private static long rowVersion(int maturityPeriod, double interestRate, Timestamp lastUpdate) {
+        long hash = maturityPeriod;
+        hash = hash * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(interestRate);
+        hash = hash * 0x9E3779B97F4A7C15L + (lastUpdate != null ? lastUpdate.getTime() : -1L);
+        // SplitMix64 finalizer, so rows that differ in one field do not have nearby hashes that cancel out in the sum
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private static boolean isNewer(InterestRate candidate, InterestRate existing) {
+        return isNewer(candidate, existing.getLastUpdate());
+    }
+
+    private static boolean isNewer(InterestRate candidate, Timestamp lastUpdate) {
+        if (candidate.getLastUpdate() == null) {
+            return false;
+        }
+        return lastUpdate == null || candidate.getLastUpdate().after(lastUpdate);
+    }
+}
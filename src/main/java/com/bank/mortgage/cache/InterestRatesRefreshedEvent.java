@@ -0,0 +1,17 @@
+package com.bank.mortgage.cache;
+
+/**
+ * Published after a new interest rate snapshot has been swapped in, so components that derive
+ * state from the rates can rebuild it.
+ */
+public class InterestRatesRefreshedEvent {
+    private final InterestRateSnapshot snapshot;
+
+    public InterestRatesRefreshedEvent(InterestRateSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public InterestRateSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.mortgage.cache;
+
+import com.bank.mortgage.model.MortgageCheckRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Optional cache of monthly costs for repeated identical mortgage checks, such as the same listing
+ * quoted to many users of an aggregator.
+ * <p>
+ * Entries are keyed on the request's numeric fields together with the version of the rate
+ * snapshot they were priced against, so a cost priced against old rates can never be served once
+ * the rates change, even if it is stored after the change. All entries are dropped when a new
+ * snapshot is published. The cache is bounded by {@code maximum-size} and evicts with Caffeine's
+ * W-TinyLFU policy. Only accepted checks are cached; rejections are cheaper than a lookup.
+ */
+@Component
+public class QuoteCache {
+
+    private final Cache<QuoteKey, Double> cache;
+
+    public QuoteCache(@Value("${mortgage.check.quote-cache.enabled:false}") boolean enabled,
+                      @Value("${mortgage.check.quote-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = enabled
+                ? Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build()
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached monthly cost of an application, pricing and caching it on a miss.
+     *
+     * @param rates   Rate snapshot the cost is priced against.
+     * @param request Mortgage check request.
+     * @param pricing Prices the request on a miss; an exception it throws is not cached.
+     * @return The monthly cost.
+     */
+    public double monthlyCost(InterestRateSnapshot rates, MortgageCheckRequest request,
+                              ToDoubleFunction<MortgageCheckRequest> pricing) {
+        return cache.get(QuoteKey.of(rates.getVersion(), request), key -> pricing.applyAsDouble(request));
+    }
+
+    @EventListener
+    public void onInterestRatesRefreshed(InterestRatesRefreshedEvent event) {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return The underlying cache, for metrics; {@code null} if the cache is disabled.
+     */
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * The request fields as primitives, with amounts in cents.
+     */
+    private static final class QuoteKey {
+        private final long rateVersion;
+        private final long income;
+        private final long loanValue;
+        private final long homeValue;
+        private final int maturityPeriod;
+
+        private QuoteKey(long rateVersion, long income, long loanValue, long homeValue, int maturityPeriod) {
+            this.rateVersion = rateVersion;
+            this.income = income;
+            this.loanValue = loanValue;
+            this.homeValue = homeValue;
+            this.maturityPeriod = maturityPeriod;
+        }
+
+        static QuoteKey of(long rateVersion, MortgageCheckRequest request) {
+            return new QuoteKey(rateVersion,
+                    request.getIncomeCents(),
+                    request.getLoanValueCents(),
+                    request.getHomeValueCents(),
+                    request.getMaturityPeriod());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QuoteKey)) {
+                return false;
+            }
+            QuoteKey other = (QuoteKey) o;
+            return rateVersion == other.rateVersion
+                    && income == other.income
+                    && loanValue == other.loanValue
+                    && homeValue == other.homeValue
+                    && maturityPeriod == other.maturityPeriod;
+        }
+
+        @Override
+        public int hashCode() {
+            long hash = rateVersion;
+            hash = 31 * hash + income;
+            hash = 31 * hash + loanValue;
+            hash = 31 * hash + homeValue;
+            hash = 31 * hash + maturityPeriod;
+            return Long.hashCode(hash);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.bank.mortgage.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring caching. Caches are backed by Caffeine and configured through
+ * {@code spring.cache.caffeine.spec}, which bounds their size, expires entries after write and
+ * records hit/miss/eviction statistics for {@code /actuator/metrics} ({@code cache.gets},
+ * {@code cache.evictions}).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String INTEREST_RATES_CACHE = "interestRates";
+}
@@ -0,0 +1,130 @@
+package com.bank.mortgage.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Password encoder that remembers recently verified credentials, so a client sending the same
+ * HTTP Basic credentials on every request pays for one slow hash verification per TTL rather than
+ * one per request.
+ * <p>
+ * Only successful verifications are cached, so wrong passwords and unknown users always go
+ * through the delegate at full cost. Concurrent requests with the same credentials share one
+ * verification instead of each running their own, as happens when a client opens many
+ * connections at once. Cache keys are HMAC-SHA256 digests of the stored hash and
+ * the presented password under a random key that lives only in memory: raw passwords are never
+ * kept, and a changed password (a different stored hash) never matches an old entry. The cache is
+ * bounded in size and entries expire a fixed time after they were verified.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final SecretKeySpec macKey;
+    private final Mac macPrototype;
+    private final Cache<ByteBuffer, CompletableFuture<Boolean>> verifications;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, Duration timeToLive, long maximumSize) {
+        this(delegate, timeToLive, maximumSize, Ticker.systemTicker());
+    }
+
+    CachingPasswordEncoder(PasswordEncoder delegate, Duration timeToLive, long maximumSize, Ticker ticker) {
+        this.delegate = delegate;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.macKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.macPrototype = newMac();
+        this.verifications = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        ByteBuffer key = digest(rawPassword, encodedPassword);
+        CompletableFuture<Boolean> verification = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = verifications.asMap().putIfAbsent(key, verification);
+        if (existing != null) {
+            // verified before, or being verified right now by another request with the same credentials
+            return existing.join();
+        }
+        boolean matches;
+        try {
+            matches = delegate.matches(rawPassword, encodedPassword);
+        } catch (RuntimeException e) {
+            verifications.asMap().remove(key, verification);
+            verification.completeExceptionally(e);
+            throw e;
+        }
+        if (!matches) {
+            verifications.asMap().remove(key, verification);
+        }
+        verification.complete(matches);
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    long cachedCredentials() {
+        verifications.cleanUp();
+        return verifications.estimatedSize();
+    }
+
+    private ByteBuffer digest(CharSequence rawPassword, String encodedPassword) {
+        Mac mac = copyMac();
+        mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        // separates the stored hash from the password, which cannot contain a NUL from a Basic header
+        mac.update((byte) 0);
+        ByteBuffer password = StandardCharsets.UTF_8.encode(CharBuffer.wrap(rawPassword));
+        mac.update(password.duplicate());
+        if (password.hasArray()) {
+            Arrays.fill(password.array(), (byte) 0);
+        }
+        return ByteBuffer.wrap(mac.doFinal());
+    }
+
+    private Mac copyMac() {
+        try {
+            return (Mac) macPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return newMac();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(macKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.bank.mortgage.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.bank.mortgage.cache.QuoteCache;
+import com.bank.mortgage.limit.AdaptiveConcurrencyLimiter;
+import com.bank.mortgage.logging.DropCountingAsyncAppender;
+import com.bank.mortgage.service.InterestRateService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Iterator;
+
+/**
+ * Gauges and counters for in-memory state that is not covered by Spring Boot's own cache,
+ * connection pool and Tomcat metrics. They are sampled when {@code /actuator/prometheus} is
+ * scraped, so they add nothing to request handling.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder interestRateSnapshotMetrics(InterestRateService interestRateService) {
+        return registry -> Gauge.builder("mortgage.rates.snapshot.size", interestRateService,
+                        service -> service.getRateSnapshot().size())
+                .description("Interest rates in the in-memory rate snapshot")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder interestRateStalenessMetrics(InterestRateService interestRateService) {
+        return registry -> Gauge.builder("mortgage.rates.staleness", interestRateService,
+                        service -> {
+                            Duration staleness = service.getStaleness();
+                            return staleness == null ? Double.NaN : staleness.toMillis() / 1000.0;
+                        })
+                .description("Time since the in-memory rate snapshot was last confirmed to match the database")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder quoteCacheMetrics(QuoteCache quoteCache) {
+        return registry -> {
+            if (quoteCache.isEnabled()) {
+                // same tag keys as the Spring caches, which Prometheus requires for meters sharing a name
+                CaffeineCacheMetrics.monitor(registry, quoteCache.getNativeCache(), "mortgageQuotes",
+                        "cache.manager", "quoteCache", "name", "mortgageQuotes");
+                Gauge.builder("mortgage.quotes.hit.ratio", quoteCache, cache -> cache.getNativeCache().stats().hitRate())
+                        .description("Share of cacheable mortgage checks answered from the quote cache")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(AdaptiveConcurrencyLimiter limiter) {
+        return registry -> {
+            if (limiter.isEnabled()) {
+                Gauge.builder("mortgage.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                        .description("Mortgage checks allowed in flight by the adaptive concurrency limiter")
+                        .register(registry);
+                Gauge.builder("mortgage.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                        .description("Mortgage checks in flight")
+                        .register(registry);
+                FunctionCounter.builder("mortgage.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                        .description("Mortgage checks refused with 503 because the concurrency limit was reached")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder credentialCacheMetrics(PasswordEncoder passwordEncoder) {
+        return registry -> {
+            if (passwordEncoder instanceof CachingPasswordEncoder) {
+                Gauge.builder("mortgage.credentials.cached", (CachingPasswordEncoder) passwordEncoder,
+                                CachingPasswordEncoder::cachedCredentials)
+                        .description("Verified HTTP Basic credentials held in the credential cache")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+                return;
+            }
+            LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+            Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+            while (appenders.hasNext()) {
+                Appender<ILoggingEvent> next = appenders.next();
+                if (next instanceof DropCountingAsyncAppender) {
+                    DropCountingAsyncAppender appender = (DropCountingAsyncAppender) next;
+                    FunctionCounter.builder("logging.events.lost", appender, DropCountingAsyncAppender::getDroppedCount)
+                            .description("Log events not written because the async queue was full or nearly full")
+                            .tags("appender", appender.getName(), "reason", "queue_full")
+                            .register(registry);
+                    FunctionCounter.builder("logging.events.lost", appender, DropCountingAsyncAppender::getDiscardedCount)
+                            .description("Log events not written because the async queue was full or nearly full")
+                            .tags("appender", appender.getName(), "reason", "discarded")
+                            .register(registry);
+                    Gauge.builder("logging.queue.size", appender, DropCountingAsyncAppender::getNumberOfElementsInQueue)
+                            .description("Log events waiting in the async queue")
+                            .tag("appender", appender.getName())
+                            .register(registry);
+                }
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.bank.mortgage.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary database,
+ * each through its own connection pool, so rate reads never wait for a connection held by a rate
+ * write. Active when {@code mortgage.datasource.replica.url} is set; otherwise the single
+ * {@code spring.datasource} serves both.
+ * <p>
+ * The primary pool is configured through {@code spring.datasource} and
+ * {@code spring.datasource.hikari}, the replica pool through {@code mortgage.datasource.replica}.
+ * Routing is done by a {@link LazyConnectionDataSourceProxy}: a transaction only takes a physical
+ * connection at its first statement, once it is known to be read-only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mortgage.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${mortgage.datasource.replica.url}") String url,
+                                              @Value("${mortgage.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${mortgage.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                              @Value("${mortgage.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * The data source used by JPA, JDBC and SQL initialization.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
\ No newline at end of file
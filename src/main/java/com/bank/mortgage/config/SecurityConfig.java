@@ -1,6 +1,8 @@
 package com.bank.mortgage.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,6 +15,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
@@ -24,11 +28,30 @@ public class SecurityConfig {
     @Value("${password}")
     private String password;
 
+    @Value("${adminUserName}")
+    private String adminUsername;
+
+    @Value("${adminPassword}")
+    private String adminPassword;
+
+    @Value("${mortgage.security.credential-cache.enabled:true}")
+    private boolean credentialCacheEnabled;
+
+    @Value("${mortgage.security.credential-cache.ttl:5m}")
+    private Duration credentialCacheTtl;
+
+    @Value("${mortgage.security.credential-cache.maximum-size:1000}")
+    private long credentialCacheMaximumSize;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        // metrics, caches and the other actuator endpoints can evict caches or reveal load
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/**").authenticated()
                         .anyRequest().permitAll())
                 .httpBasic(withDefaults());
@@ -43,11 +66,24 @@ public class SecurityConfig {
                 .password(passwordEncoder.encode(password))
                 .roles("USER")
                 .build());
+        manager.createUser(User.builder()
+                .username(adminUsername)
+                .password(passwordEncoder.encode(adminPassword))
+                .roles("ADMIN")
+                .build());
         return manager;
     }
 
+    /**
+     * BCrypt password encoder. Unless disabled, successful verifications are remembered for a short
+     * time so that HTTP Basic clients do not pay for a BCrypt verification on every request.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        if (!credentialCacheEnabled) {
+            return bcrypt;
+        }
+        return new CachingPasswordEncoder(bcrypt, credentialCacheTtl, credentialCacheMaximumSize);
     }
 }
@@ -0,0 +1,51 @@
+package com.bank.mortgage.controller;
+
+import com.bank.mortgage.model.AmortizationSummary;
+import com.bank.mortgage.service.AmortizationService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Controller for amortization schedules.
+ */
+@RestController
+@RequiredArgsConstructor
+public class AmortizationController {
+
+    private final AmortizationService amortizationService;
+
+    /**
+     * Endpoint to stream the monthly amortization schedule of a loan at the current interest rate.
+     *
+     * @param loanValue      Value of the loan.
+     * @param maturityPeriod Maturity period in years.
+     * @param response       Servlet response the schedule is written to.
+     */
+    @GetMapping("/api/v1/amortization-schedule")
+    public void getAmortizationSchedule(@RequestParam("loanValue") double loanValue,
+                                        @RequestParam("maturityPeriod") int maturityPeriod,
+                                        HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        amortizationService.writeSchedule(loanValue, maturityPeriod, response.getOutputStream());
+    }
+
+    /**
+     * Endpoint to fetch the totals of the amortization schedule of a loan.
+     *
+     * @param loanValue      Value of the loan.
+     * @param maturityPeriod Maturity period in years.
+     * @return ResponseEntity containing the schedule totals.
+     */
+    @GetMapping("/api/v1/amortization-schedule/summary")
+    public ResponseEntity<AmortizationSummary> getAmortizationSummary(@RequestParam("loanValue") double loanValue,
+                                                                      @RequestParam("maturityPeriod") int maturityPeriod) {
+        return ResponseEntity.ok(amortizationService.summarizeSchedule(loanValue, maturityPeriod));
+    }
+}
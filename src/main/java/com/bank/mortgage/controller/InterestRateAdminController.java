@@ -0,0 +1,34 @@
+package com.bank.mortgage.controller;
+
+import com.bank.mortgage.model.InterestRateSheetResult;
+import com.bank.mortgage.model.InterestRateUpdate;
+import com.bank.mortgage.service.InterestRateSheetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for maintaining the interest rate table. Requires the ADMIN role.
+ */
+@RestController
+@RequiredArgsConstructor
+public class InterestRateAdminController {
+
+    private final InterestRateSheetService interestRateSheetService;
+
+    /**
+     * Endpoint to apply a sheet of interest rates. Rates for the listed maturity periods are
+     * inserted or replaced; other maturity periods keep their rates.
+     *
+     * @param sheet Interest rate per maturity period.
+     * @return ResponseEntity containing the number of rates updated and inserted.
+     */
+    @PutMapping("/api/v1/admin/interest-rates")
+    public ResponseEntity<InterestRateSheetResult> upsertInterestRates(@RequestBody List<InterestRateUpdate> sheet) {
+        return ResponseEntity.ok(interestRateSheetService.upsertRates(sheet));
+    }
+}
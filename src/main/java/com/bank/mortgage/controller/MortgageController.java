@@ -1,55 +1,254 @@
 package com.bank.mortgage.controller;
 
+import com.bank.mortgage.cache.EncodedRateListing;
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.config.BinaryFormatConfig;
 import com.bank.mortgage.model.InterestRateResponse;
 import com.bank.mortgage.model.MortgageCheckRequest;
 import com.bank.mortgage.model.MortgageCheckResponse;
 import com.bank.mortgage.service.InterestRateService;
+import com.bank.mortgage.service.MortgageBatchService;
 import com.bank.mortgage.service.MortgageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Controller for handling mortgage-related operations.
+ * Controller for handling mortgage-related operations. Every endpoint speaks JSON, CBOR and Smile,
+ * chosen through Content-Type and Accept.
  */
 @RestController
 @RequiredArgsConstructor
 public class MortgageController {
     private static final Logger logger = LoggerFactory.getLogger(MortgageController.class);
 
+    /**
+     * Data formats of the listing, in order of preference when the client accepts several equally.
+     */
+    private static final List<MediaType> LISTING_FORMATS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, BinaryFormatConfig.APPLICATION_SMILE);
+
     private final MortgageService mortgageService;
 
     private final InterestRateService interestRateService;
 
+    private final MortgageBatchService mortgageBatchService;
+
+    private final ObjectMapper objectMapper;
+
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    private final Map<MediaType, EncodedRateListing> encodedRates = new ConcurrentHashMap<>();
+
     /**
-     * Endpoint to fetch interest rates.
+     * Endpoint to fetch interest rates. The listing is sent in the data format chosen by Accept
+     * (JSON, CBOR or Smile), from bytes that are encoded, and gzip or deflate compressed according
+     * to Accept-Encoding, once per rate set version and format.
+     * <p>
+     * The response carries a strong ETag derived from the rate set version, the data format and the
+     * content coding, and a Last-Modified taken from the most recent rate update. A request whose
+     * If-None-Match or If-Modified-Since still matches the current rates is answered with 304 Not
+     * Modified from the in-memory rate snapshot, without loading or encoding the listing.
      *
-     * @return ResponseEntity containing the list of interest rate responses.
+     * @param headers Request headers, for If-None-Match, If-Modified-Since, Accept and Accept-Encoding.
+     * @return ResponseEntity containing the list of interest rate responses, or 304 Not Modified.
+     */
+    @GetMapping(value = "/api/v1/interest-rates", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<byte[]> getInterestRates(@RequestHeader HttpHeaders headers) {
+        MediaType format = negotiateFormat(headers.getAccept());
+        EncodedRateListing.Coding coding = EncodedRateListing.negotiate(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        InterestRateSnapshot rates = interestRateService.getRateSnapshot();
+        long lastModified = lastModified(rates.getLatestUpdate());
+        if (isNotModified(headers, rates.getVersion(), format, lastModified)) {
+            return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag(rates.getVersion(), format, coding), lastModified).build();
+        }
+
+        logger.debug("Fetching interest rates as {}", format);
+        // validators describe the listing actually sent, which may briefly lag behind a snapshot refresh
+        EncodedRateListing listing = encodedRates(format, interestRateService.getAllInterestRates());
+        ResponseEntity.BodyBuilder response = validators(ResponseEntity.ok(), eTag(listing.getVersion(), format, coding),
+                lastModified(listing.getLatestUpdate()));
+        if (coding != EncodedRateListing.Coding.IDENTITY) {
+            response.header(HttpHeaders.CONTENT_ENCODING, coding.getToken());
+        }
+        return response.contentType(format).body(listing.bytes(coding));
+    }
+
+    private EncodedRateListing encodedRates(MediaType format, List<InterestRateResponse> interestRates) {
+        EncodedRateListing current = encodedRates.get(format);
+        EncodedRateListing encoded = current == null
+                ? EncodedRateListing.encode(interestRates, mapperFor(format))
+                : current.reuseFor(interestRates, mapperFor(format));
+        if (encoded != current) {
+            encodedRates.put(format, encoded);
+        }
+        return encoded;
+    }
+
+    /**
+     * Picks the listing format the client prefers. The quality of a format is taken from the most
+     * specific Accept range that includes it; equally acceptable formats are ranked by
+     * {@link #LISTING_FORMATS}, so a client accepting anything gets JSON.
+     */
+    static MediaType negotiateFormat(List<MediaType> accept) {
+        MediaType best = MediaType.APPLICATION_JSON;
+        double bestQuality = accept.isEmpty() ? 1 : 0;
+        for (MediaType format : LISTING_FORMATS) {
+            int specificity = -1;
+            double quality = 0;
+            for (MediaType range : accept) {
+                if (range.includes(format)) {
+                    int rangeSpecificity = (range.isWildcardType() ? 0 : 1) + (range.isWildcardSubtype() ? 0 : 1);
+                    if (rangeSpecificity > specificity) {
+                        specificity = rangeSpecificity;
+                        quality = range.getQualityValue();
+                    }
+                }
+            }
+            if (quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private ObjectMapper mapperFor(MediaType format) {
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(format)) {
+            return cborConverter.getObjectMapper();
+        }
+        if (BinaryFormatConfig.APPLICATION_SMILE.isCompatibleWith(format)) {
+            return smileConverter.getObjectMapper();
+        }
+        return objectMapper;
+    }
+
+    /**
+     * Evaluates the conditional headers of a GET. If-None-Match takes precedence; it is compared
+     * weakly, as RFC 9110 requires, and matches the entity tag of any content coding of the
+     * version in the requested format. If-Modified-Since only has second precision.
+     */
+    private static boolean isNotModified(HttpHeaders headers, long version, MediaType format, long lastModified) {
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            for (String candidate : ifNoneMatch) {
+                if (candidate.equals("*")) {
+                    return true;
+                }
+                String opaqueTag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+                for (EncodedRateListing.Coding coding : EncodedRateListing.Coding.values()) {
+                    if (opaqueTag.equals(eTag(version, format, coding))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = headers.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified >= 0 && lastModified / 1000 * 1000 <= ifModifiedSince;
+    }
+
+    private static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder response, String eTag, long lastModified) {
+        response.eTag(eTag).varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response;
+    }
+
+    /**
+     * A strong entity tag must differ between data formats and content codings of the same
+     * listing, so both are appended to the version. JSON keeps the plain version.
      */
-    @GetMapping("/api/v1/interest-rates")
-    public ResponseEntity<List<InterestRateResponse>> getInterestRates() {
-        logger.info("Fetching interest rates");
-        List<InterestRateResponse> interestRates = interestRateService.getAllInterestRates();
-        return ResponseEntity.ok(interestRates);
+    private static String eTag(long version, MediaType format, EncodedRateListing.Coding coding) {
+        String formatSuffix = MediaType.APPLICATION_CBOR.equals(format) ? "-cbor"
+                : BinaryFormatConfig.APPLICATION_SMILE.equals(format) ? "-smile" : "";
+        String codingSuffix = coding == EncodedRateListing.Coding.IDENTITY ? "" : "-" + coding.getToken();
+        return "\"" + Long.toHexString(version) + formatSuffix + codingSuffix + "\"";
+    }
+
+    private static long lastModified(Timestamp lastUpdate) {
+        return lastUpdate != null ? lastUpdate.getTime() : -1;
     }
 
     /**
-     * Endpoint to check the feasibility of a mortgage.
+     * Endpoint to check the feasibility of a mortgage. The request and response may be JSON, CBOR
+     * or Smile, as given by Content-Type and Accept.
      *
      * @param request Mortgage check request payload.
      * @return ResponseEntity containing the mortgage check response.
      */
     @PostMapping("/api/v1/mortgage-check")
     public ResponseEntity<MortgageCheckResponse> mortgageCheck(@RequestBody MortgageCheckRequest request) {
-        logger.info("Processing mortgage check request: {}", request);
+        logger.debug("Processing mortgage check request: {}", request);
         MortgageCheckResponse response = mortgageService.calculateMortgage(request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Endpoint to check a batch of mortgages sent as a JSON array. Results are streamed back as a
+     * JSON array while the request is still being read, one entry per application in request order.
+     *
+     * @param body     Request body containing a JSON array of mortgage check requests.
+     * @param response Servlet response the results are written to.
+     */
+    @PostMapping(value = "/api/v1/mortgage-check/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void mortgageCheckBatch(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mortgageBatchService.processJsonArray(body, response.getOutputStream());
+    }
+
+    /**
+     * Endpoint to check a batch of mortgages sent as newline-delimited JSON. Results are streamed
+     * back as newline-delimited JSON, one line per application in request order.
+     *
+     * @param body     Request body containing one mortgage check request per line.
+     * @param response Servlet response the results are written to.
+     */
+    @PostMapping(value = "/api/v1/mortgage-check/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void mortgageCheckBatchNdjson(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        mortgageBatchService.processNdjson(body, response.getOutputStream());
+    }
+
+    /**
+     * Endpoint to check a batch of mortgages sent as a CBOR or Smile array. Results are streamed
+     * back as an array in the format of the request, one entry per application in request order.
+     *
+     * @param contentType Format of the request body, which is also used for the response.
+     * @param body        Request body containing an array of mortgage check requests.
+     * @param response    Servlet response the results are written to.
+     */
+    @PostMapping(value = "/api/v1/mortgage-check/batch",
+            consumes = {MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public void mortgageCheckBatchBinary(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                         InputStream body, HttpServletResponse response) throws IOException {
+        MediaType format = MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)
+                ? MediaType.APPLICATION_CBOR : BinaryFormatConfig.APPLICATION_SMILE;
+        response.setContentType(format.toString());
+        mortgageBatchService.processArray(body, response.getOutputStream(), mapperFor(format));
+    }
 }
@@ -0,0 +1,66 @@
+package com.bank.mortgage.controller;
+
+import com.bank.mortgage.model.MortgageJobStatus;
+import com.bank.mortgage.service.MortgageJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Controller for bulk mortgage check jobs.
+ */
+@RestController
+@RequiredArgsConstructor
+public class MortgageJobController {
+
+    private final MortgageJobService mortgageJobService;
+
+    /**
+     * Endpoint to submit a CSV or NDJSON file of mortgage check requests for background processing.
+     *
+     * @param file Uploaded file.
+     * @return ResponseEntity containing the status of the queued job.
+     */
+    @PostMapping(value = "/api/v1/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MortgageJobStatus> submitJob(@RequestParam("file") MultipartFile file) throws IOException {
+        MortgageJobStatus status = mortgageJobService.submit(file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/jobs/" + status.getId()))
+                .body(status);
+    }
+
+    /**
+     * Endpoint to fetch the progress of a job.
+     *
+     * @param id Job id.
+     * @return ResponseEntity containing the job status.
+     */
+    @GetMapping("/api/v1/jobs/{id}")
+    public ResponseEntity<MortgageJobStatus> getJob(@PathVariable("id") String id) {
+        return ResponseEntity.ok(mortgageJobService.getStatus(id));
+    }
+
+    /**
+     * Endpoint to download the NDJSON results of a completed job.
+     *
+     * @param id Job id.
+     * @return ResponseEntity containing the result file.
+     */
+    @GetMapping("/api/v1/jobs/{id}/result")
+    public ResponseEntity<Resource> getJobResult(@PathVariable("id") String id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(new FileSystemResource(mortgageJobService.getResult(id)));
+    }
+}
@@ -1,42 +1,139 @@
 package com.bank.mortgage.exception;
 
+import com.bank.mortgage.metrics.MortgageMetrics;
+import com.bank.mortgage.util.ExceptionMessage;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+/**
+ * Maps exceptions to error responses.
+ * <p>
+ * Client errors are an expected outcome of a request: their exceptions carry no stack trace and
+ * they are logged at WARN with the message only. Mortgage check rejections are logged at DEBUG,
+ * since {@code MortgageService} already logs a sample of them. Server errors are logged at ERROR
+ * with the trace.
+ */
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MortgageMetrics mortgageMetrics;
+
     @ExceptionHandler(MaxLoanExceededException.class)
     public ResponseEntity<ErrorResponse> handleMaxLoanExceededException(MaxLoanExceededException ex, WebRequest request) {
-        logger.error("MaxLoanExceededException: {}", ex.getMessage(), ex);
+        logger.debug("MaxLoanExceededException: {}", ex.getMessage());
+        mortgageMetrics.rejected(ExceptionMessage.MAX_LOAN_EXCEEDED);
         ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "MAX_LOAN_EXCEEDED", HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(HomeValueExceededException.class)
     public ResponseEntity<ErrorResponse> handleHomeValueExceededException(HomeValueExceededException ex, WebRequest request) {
-        logger.error("HomeValueExceededException: {}", ex.getMessage(), ex);
+        logger.debug("HomeValueExceededException: {}", ex.getMessage());
+        mortgageMetrics.rejected(ExceptionMessage.HOME_VALUE_EXCEEDED);
         ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "HOME_VALUE_EXCEEDED", HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(InterestRateNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleInterestRateNotFoundException(InterestRateNotFoundException ex, WebRequest request) {
-        logger.error("InterestRateNotFoundException: {}", ex.getMessage(), ex);
+        logger.debug("InterestRateNotFoundException: {}", ex.getMessage());
+        mortgageMetrics.rejected(ExceptionMessage.INTEREST_RATE_NOT_FOUND);
         ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "INTEREST_RATE_NOT_FOUND", HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBatchRequestException(InvalidBatchRequestException ex, WebRequest request) {
+        logger.warn("InvalidBatchRequestException: {}", ex.getMessage());
+        mortgageMetrics.clientError(ExceptionMessage.INVALID_BATCH_REQUEST);
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "INVALID_BATCH_REQUEST", HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidJobFileException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidJobFileException(InvalidJobFileException ex, WebRequest request) {
+        logger.warn("InvalidJobFileException: {}", ex.getMessage());
+        mortgageMetrics.clientError(ExceptionMessage.INVALID_JOB_FILE);
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "INVALID_JOB_FILE", HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFoundException(JobNotFoundException ex, WebRequest request) {
+        logger.warn("JobNotFoundException: {}", ex.getMessage());
+        mortgageMetrics.clientError(ExceptionMessage.JOB_NOT_FOUND);
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "JOB_NOT_FOUND", HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(JobNotCompletedException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotCompletedException(JobNotCompletedException ex, WebRequest request) {
+        logger.warn("JobNotCompletedException: {}", ex.getMessage());
+        mortgageMetrics.clientError(ExceptionMessage.JOB_NOT_COMPLETED);
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "JOB_NOT_COMPLETED", HttpStatus.CONFLICT);
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidAmortizationRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidAmortizationRequestException(InvalidAmortizationRequestException ex, WebRequest request) {
+        logger.warn("InvalidAmortizationRequestException: {}", ex.getMessage());
+        mortgageMetrics.clientError(ExceptionMessage.INVALID_AMORTIZATION_REQUEST);
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "INVALID_AMORTIZATION_REQUEST", HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidRateSheetException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRateSheetException(InvalidRateSheetException ex, WebRequest request) {
+        logger.warn("InvalidRateSheetException: {}", ex.getMessage());
+        mortgageMetrics.clientError(ExceptionMessage.INVALID_RATE_SHEET);
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "INVALID_RATE_SHEET", HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidMortgageCheckRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidMortgageCheckRequestException(InvalidMortgageCheckRequestException ex, WebRequest request) {
+        logger.warn("InvalidMortgageCheckRequestException: {}", ex.getMessage());
+        mortgageMetrics.clientError(ExceptionMessage.INVALID_MORTGAGE_CHECK_REQUEST);
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "INVALID_MORTGAGE_CHECK_REQUEST", HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex, WebRequest request) {
+        logger.warn("HttpMessageNotReadableException: {}", ex.getMessage());
+        mortgageMetrics.clientError(ExceptionMessage.INVALID_REQUEST_BODY);
+        ErrorResponse errorResponse = new ErrorResponse(ExceptionMessage.INVALID_REQUEST_BODY.getMessage(), "INVALID_REQUEST_BODY", HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Sheds a check refused by the concurrency limiter. Logged at DEBUG only, since under overload
+     * there is one per excess request; {@code mortgage.concurrency.rejected} counts them.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex, WebRequest request) {
+        logger.debug("ServiceOverloadedException: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "SERVICE_OVERLOADED", HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000)))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(MortgageCalculationException.class)
     public ResponseEntity<ErrorResponse> handleMortgageCalculationException(MortgageCalculationException ex, WebRequest request) {
         logger.error("MortgageCalculationException: {}", ex.getMessage(), ex);
+        mortgageMetrics.serverError(ExceptionMessage.MORTGAGE_CALCULATION_ERROR);
         ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), "MORTGAGE_CALCULATION_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
@@ -4,6 +4,6 @@ import com.bank.mortgage.util.ExceptionMessage;
 
 public class HomeValueExceededException extends RuntimeException {
     public HomeValueExceededException() {
-        super(ExceptionMessage.HOME_VALUE_EXCEEDED.getMessage());
+        super(ExceptionMessage.HOME_VALUE_EXCEEDED.getMessage(), null, false, false);
     }
 }
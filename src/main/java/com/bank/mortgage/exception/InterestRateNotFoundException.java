@@ -2,6 +2,6 @@ package com.bank.mortgage.exception;
 
 public class InterestRateNotFoundException extends RuntimeException {
     public InterestRateNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
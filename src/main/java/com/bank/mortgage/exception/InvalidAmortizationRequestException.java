@@ -0,0 +1,9 @@
+package com.bank.mortgage.exception;
+
+import com.bank.mortgage.util.ExceptionMessage;
+
+public class InvalidAmortizationRequestException extends RuntimeException {
+    public InvalidAmortizationRequestException() {
+        super(ExceptionMessage.INVALID_AMORTIZATION_REQUEST.getMessage(), null, false, false);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.mortgage.exception;
+
+import com.bank.mortgage.util.ExceptionMessage;
+
+public class InvalidBatchRequestException extends RuntimeException {
+    public InvalidBatchRequestException() {
+        super(ExceptionMessage.INVALID_BATCH_REQUEST.getMessage(), null, false, false);
+    }
+
+    public InvalidBatchRequestException(Throwable cause) {
+        super(ExceptionMessage.INVALID_BATCH_REQUEST.getMessage(), cause, false, false);
+    }
+}
@@ -0,0 +1,9 @@
+package com.bank.mortgage.exception;
+
+import com.bank.mortgage.util.ExceptionMessage;
+
+public class InvalidJobFileException extends RuntimeException {
+    public InvalidJobFileException() {
+        super(ExceptionMessage.INVALID_JOB_FILE.getMessage(), null, false, false);
+    }
+}
@@ -0,0 +1,9 @@
+package com.bank.mortgage.exception;
+
+import com.bank.mortgage.util.ExceptionMessage;
+
+public class InvalidMortgageCheckRequestException extends RuntimeException {
+    public InvalidMortgageCheckRequestException() {
+        super(ExceptionMessage.INVALID_MORTGAGE_CHECK_REQUEST.getMessage(), null, false, false);
+    }
+}
@@ -0,0 +1,9 @@
+package com.bank.mortgage.exception;
+
+import com.bank.mortgage.util.ExceptionMessage;
+
+public class InvalidRateSheetException extends RuntimeException {
+    public InvalidRateSheetException() {
+        super(ExceptionMessage.INVALID_RATE_SHEET.getMessage(), null, false, false);
+    }
+}
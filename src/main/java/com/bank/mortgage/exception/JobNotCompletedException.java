@@ -0,0 +1,9 @@
+package com.bank.mortgage.exception;
+
+import com.bank.mortgage.util.ExceptionMessage;
+
+public class JobNotCompletedException extends RuntimeException {
+    public JobNotCompletedException() {
+        super(ExceptionMessage.JOB_NOT_COMPLETED.getMessage(), null, false, false);
+    }
+}
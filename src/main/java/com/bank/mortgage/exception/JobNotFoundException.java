@@ -0,0 +1,9 @@
+package com.bank.mortgage.exception;
+
+import com.bank.mortgage.util.ExceptionMessage;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException() {
+        super(ExceptionMessage.JOB_NOT_FOUND.getMessage(), null, false, false);
+    }
+}
@@ -5,6 +5,6 @@ import com.bank.mortgage.util.ExceptionMessage;
 
 public class MaxLoanExceededException extends RuntimeException {
     public MaxLoanExceededException() {
-        super(ExceptionMessage.MAX_LOAN_EXCEEDED.getMessage());
+        super(ExceptionMessage.MAX_LOAN_EXCEEDED.getMessage(), null, false, false);
     }
 }
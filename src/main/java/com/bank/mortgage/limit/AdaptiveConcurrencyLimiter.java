@@ -0,0 +1,162 @@
+package com.bank.mortgage.limit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of mortgage checks in flight at a limit that adapts to how the service copes,
+ * using additive increase / multiplicative decrease (AIMD).
+ * <p>
+ * A check that completes within {@code latency-threshold} while at least half the limit is in use
+ * raises the limit by {@code 1/limit}, so about one per limit's worth of checks. A check that is
+ * slower, or fails with a server error, counts as congestion and multiplies the limit by
+ * {@code backoff-ratio}. When a slow database makes checks pile up, the limit therefore shrinks
+ * towards {@code min-limit}, and checks beyond it are refused immediately instead of queueing on
+ * request threads until everything times out.
+ * <p>
+ * The limit backs off at most once per {@code latency-threshold}. One stall, such as a GC pause,
+ * makes every check in flight slow at once; counting each of them would cut the limit to its
+ * minimum for a single event.
+ * <p>
+ * Acquiring and releasing are lock-free.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final Duration retryAfter;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // the current limit as the bits of a double, so it can grow by fractions
+    private final AtomicLong limitBits;
+    private final LongAdder rejected = new LongAdder();
+    private final LongSupplier nanoClock;
+    private final AtomicLong lastBackoffNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${mortgage.check.concurrency.enabled:true}") boolean enabled,
+                                      @Value("${mortgage.check.concurrency.initial-limit:20}") int initialLimit,
+                                      @Value("${mortgage.check.concurrency.min-limit:4}") int minLimit,
+                                      @Value("${mortgage.check.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${mortgage.check.concurrency.latency-threshold:250ms}") Duration latencyThreshold,
+                                      @Value("${mortgage.check.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${mortgage.check.concurrency.retry-after:1s}") Duration retryAfter) {
+        this(enabled, initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio, retryAfter, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(boolean enabled, int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                               double backoffRatio, Duration retryAfter, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.retryAfter = retryAfter;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+        this.nanoClock = nanoClock;
+        this.lastBackoffNanos = new AtomicLong(nanoClock.getAsLong() - latencyThresholdNanos);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a slot for a check if fewer than the limit are in flight. A caller that got a slot must
+     * give it back with {@link #release(long, boolean)}.
+     *
+     * @return {@code true} if the check may proceed, {@code false} if it must be refused.
+     */
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a slot and adjusts the limit from how the check went.
+     *
+     * @param latencyNanos How long the check took.
+     * @param failed       Whether it failed with a server error; a rejected application is not a failure.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        if (!enabled) {
+            return;
+        }
+        int inFlightBefore = inFlight.getAndDecrement();
+        boolean congested = failed || latencyNanos > latencyThresholdNanos;
+        if (congested && !claimBackoff()) {
+            // the limit was already lowered for this stall
+            return;
+        }
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double updated;
+            if (congested) {
+                updated = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlightBefore * 2 >= limit) {
+                // only grow a limit that is actually being used
+                updated = Math.min(maxLimit, limit + 1 / limit);
+            } else {
+                return;
+            }
+            if (updated == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(updated))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claims the one back-off allowed per latency threshold.
+     */
+    private boolean claimBackoff() {
+        long now = nanoClock.getAsLong();
+        long last = lastBackoffNanos.get();
+        return now - last >= latencyThresholdNanos && lastBackoffNanos.compareAndSet(last, now);
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return The number of checks refused since startup.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return How long a refused client is asked to wait before retrying.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
\ No newline at end of file
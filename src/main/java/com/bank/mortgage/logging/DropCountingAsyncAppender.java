@@ -0,0 +1,50 @@
+package com.bank.mortgage.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous appender that never makes a request thread wait for the console and counts every
+ * event it does not forward.
+ * <p>
+ * Events go into a bounded queue that a single worker drains into the attached appenders. Once
+ * less than {@code discardingThreshold} capacity is left, INFO and lower events are discarded so
+ * that warnings and errors still fit; once the queue is full, every event is dropped. Both are
+ * counted, so lost log lines show up in the metrics rather than going unnoticed.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (getRemainingCapacity() == 0) {
+            dropped.increment();
+            return;
+        }
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        // neverBlock stays off: a put that loses the race for the last slot waits for the worker
+        // to take one event instead of being dropped without being counted
+        super.append(event);
+    }
+
+    /**
+     * @return Number of INFO and lower events discarded because the queue was nearly full.
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * @return Number of events dropped because the queue was full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.bank.mortgage.logging;
+
+import com.bank.mortgage.metrics.MortgageMetrics.Outcome;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which mortgage checks are logged, with a separate sample rate per outcome.
+ * <p>
+ * The decision is made before any log arguments are built, so a check that is not sampled costs
+ * one random number and no allocation. A rate of {@code 1.0} logs every check with that outcome
+ * and {@code 0} logs none.
+ */
+@Component
+public class RequestLogSampler {
+
+    private final double[] rates = new double[Outcome.values().length];
+
+    public RequestLogSampler(@Value("${mortgage.logging.sample-rate.accepted:1.0}") double accepted,
+                             @Value("${mortgage.logging.sample-rate.rejected:1.0}") double rejected,
+                             @Value("${mortgage.logging.sample-rate.error:1.0}") double error) {
+        rates[Outcome.ACCEPTED.ordinal()] = accepted;
+        rates[Outcome.REJECTED.ordinal()] = rejected;
+        rates[Outcome.ERROR.ordinal()] = error;
+    }
+
+    /**
+     * @param outcome Outcome of the mortgage check.
+     * @return {@code true} if the check should be logged.
+     */
+    public boolean sample(Outcome outcome) {
+        double rate = rates[outcome.ordinal()];
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.bank.mortgage.metrics;
+
+import com.bank.mortgage.util.ExceptionMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and counters for the mortgage check hot path.
+ * <p>
+ * Every meter is registered up front, so recording a value is a lookup-free update of an
+ * existing meter: callers pass primitive {@code System.nanoTime()} differences and nothing is
+ * allocated per request. Timers publish a percentile histogram, so p50/p99/p99.9 can be computed
+ * across instances from the Prometheus scrape.
+ * <p>
+ * The rate lookup and the calculation each take less time than a histogram update, so their
+ * timers only record one check in {@value #STAGE_SAMPLE_RATE}. Their percentiles are unaffected,
+ * but their counts are a fraction of {@value #CHECK_TIMER}.
+ * <p>
+ * Errors are counted per {@link ExceptionMessage} on one of three counters: mortgage checks the
+ * bank declines ({@value #REJECTIONS_COUNTER}), other requests the client got wrong
+ * ({@value #CLIENT_ERRORS_COUNTER}) and failures on the server ({@value #SERVER_ERRORS_COUNTER}).
+ * Each reason is registered on its own counter only.
+ */
+@Component
+public class MortgageMetrics {
+
+    public static final String CHECK_TIMER = "mortgage.check";
+    public static final String RATE_LOOKUP_TIMER = "mortgage.rate.lookup";
+    public static final String CALCULATION_TIMER = "mortgage.calculation";
+    public static final String REJECTIONS_COUNTER = "mortgage.rejections";
+    public static final String CLIENT_ERRORS_COUNTER = "mortgage.client.errors";
+    public static final String SERVER_ERRORS_COUNTER = "mortgage.server.errors";
+
+    private static final EnumSet<ExceptionMessage> REJECTION_REASONS = EnumSet.of(
+            ExceptionMessage.MAX_LOAN_EXCEEDED, ExceptionMessage.HOME_VALUE_EXCEEDED, ExceptionMessage.INTEREST_RATE_NOT_FOUND);
+    private static final EnumSet<ExceptionMessage> SERVER_ERROR_REASONS = EnumSet.of(
+            ExceptionMessage.MORTGAGE_CALCULATION_ERROR, ExceptionMessage.INTEREST_RATE_FETCH_ERROR);
+
+    static final int STAGE_SAMPLE_RATE = 16;
+
+    /**
+     * Result of a single mortgage check.
+     */
+    public enum Outcome {
+        ACCEPTED, REJECTED, ERROR
+    }
+
+    private final Map<Outcome, Timer> checkTimers = new EnumMap<>(Outcome.class);
+    private final Timer rateLookupTimer;
+    private final Timer calculationTimer;
+    private final Map<ExceptionMessage, Counter> rejectionCounters = new EnumMap<>(ExceptionMessage.class);
+    private final Map<ExceptionMessage, Counter> clientErrorCounters = new EnumMap<>(ExceptionMessage.class);
+    private final Map<ExceptionMessage, Counter> serverErrorCounters = new EnumMap<>(ExceptionMessage.class);
+
+    public MortgageMetrics(MeterRegistry registry) {
+        for (Outcome outcome : Outcome.values()) {
+            checkTimers.put(outcome, histogramTimer(CHECK_TIMER, "Duration of a mortgage check")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        rateLookupTimer = histogramTimer(RATE_LOOKUP_TIMER, "Duration of an interest rate lookup").register(registry);
+        calculationTimer = histogramTimer(CALCULATION_TIMER, "Duration of a monthly cost calculation").register(registry);
+        for (ExceptionMessage reason : ExceptionMessage.values()) {
+            if (REJECTION_REASONS.contains(reason)) {
+                rejectionCounters.put(reason, reasonCounter(REJECTIONS_COUNTER,
+                        "Mortgage checks or batch items rejected, by reason", reason).register(registry));
+            } else if (SERVER_ERROR_REASONS.contains(reason)) {
+                serverErrorCounters.put(reason, reasonCounter(SERVER_ERRORS_COUNTER,
+                        "Requests or batch items that failed on the server, by reason", reason).register(registry));
+            } else {
+                clientErrorCounters.put(reason, reasonCounter(CLIENT_ERRORS_COUNTER,
+                        "Invalid requests or batch items, by reason", reason).register(registry));
+            }
+        }
+    }
+
+    public void recordCheck(Outcome outcome, long nanos) {
+        checkTimers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Decides whether the current check should time its rate lookup and calculation.
+     */
+    public boolean sampleStages() {
+        return ThreadLocalRandom.current().nextInt(STAGE_SAMPLE_RATE) == 0;
+    }
+
+    public void recordRateLookup(long nanos) {
+        rateLookupTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCalculation(long nanos) {
+        calculationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a mortgage check declined for a business reason: the loan limits or the maturity period.
+     */
+    public void rejected(ExceptionMessage reason) {
+        rejectionCounters.get(reason).increment();
+    }
+
+    /**
+     * Counts a request or batch item that is invalid, or refers to an unknown or unfinished job.
+     */
+    public void clientError(ExceptionMessage reason) {
+        clientErrorCounters.get(reason).increment();
+    }
+
+    public void serverError(ExceptionMessage reason) {
+        serverErrorCounters.get(reason).increment();
+    }
+
+    private static Counter.Builder reasonCounter(String name, String description, ExceptionMessage reason) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("reason", reason.name());
+    }
+
+    private static Timer.Builder histogramTimer(String name, String description) {
+        // bounds keep the histogram to the buckets that matter for sub-millisecond operations
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofSeconds(1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.bank.mortgage.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totals of an amortization schedule.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class AmortizationSummary {
+    private double monthlyPayment;
+    private int numberOfPayments;
+    private double totalPaid;
+    private double totalInterest;
+}
@@ -0,0 +1,20 @@
+package com.bank.mortgage.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Outcome of applying an interest rate sheet: how many maturity periods had a rate that was
+ * updated and how many were new, and the {@code lastUpdate} stamped on all of them.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class InterestRateSheetResult {
+    private int updated;
+    private int inserted;
+    private Timestamp lastUpdate;
+}
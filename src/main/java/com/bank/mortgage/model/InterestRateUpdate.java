@@ -0,0 +1,16 @@
+package com.bank.mortgage.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of an interest rate sheet: the rate for a maturity period.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class InterestRateUpdate {
+    private int maturityPeriod;
+    private double interestRate;
+}
@@ -0,0 +1,21 @@
+package com.bank.mortgage.model;
+
+import com.bank.mortgage.exception.ErrorResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch mortgage check. Exactly one of {@code response} and
+ * {@code error} is set; {@code index} is the zero-based position of the item in the batch.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MortgageCheckBatchResult {
+    private long index;
+    private MortgageCheckResponse response;
+    private ErrorResponse error;
+}
@@ -1,29 +1,70 @@
 package com.bank.mortgage.model;
 
-import lombok.AllArgsConstructor;
+import com.bank.mortgage.util.Cents;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.validation.constraints.Min;
-import javax.validation.constraints.NotNull;
-
-@AllArgsConstructor
+/**
+ * A mortgage application. Amounts are held as whole cents and every field is a primitive, so a
+ * request costs a single allocation. On the wire the amounts are decimal numbers, e.g.
+ * {@code "income":75000.5}; the request is read and written by {@link MortgageCheckRequestDeserializer}
+ * and {@link MortgageCheckRequestSerializer} instead of by reflection.
+ * <p>
+ * Any number is accepted here; {@code MortgageService} refuses amounts that are not greater than 0
+ * and maturity periods out of range.
+ */
 @NoArgsConstructor
 @Data
+@JsonDeserialize(using = MortgageCheckRequestDeserializer.class)
+@JsonSerialize(using = MortgageCheckRequestSerializer.class)
 public class MortgageCheckRequest {
-    @NotNull(message = "Income is required")
-    @Min(value = 1, message = "Income must be greater than 0")
-    private Double income;
+    private long incomeCents;
+    private long loanValueCents;
+    private long homeValueCents;
+    private int maturityPeriod;
+
+    /**
+     * Builds a request from decimal amounts, rounded to whole cents.
+     */
+    public MortgageCheckRequest(double income, double loanValue, double homeValue, int maturityPeriod) {
+        this.incomeCents = Cents.of(income);
+        this.loanValueCents = Cents.of(loanValue);
+        this.homeValueCents = Cents.of(homeValue);
+        this.maturityPeriod = maturityPeriod;
+    }
+
+    public static MortgageCheckRequest ofCents(long incomeCents, long loanValueCents, long homeValueCents, int maturityPeriod) {
+        MortgageCheckRequest request = new MortgageCheckRequest();
+        request.incomeCents = incomeCents;
+        request.loanValueCents = loanValueCents;
+        request.homeValueCents = homeValueCents;
+        request.maturityPeriod = maturityPeriod;
+        return request;
+    }
+
+    public double getIncome() {
+        return Cents.toDouble(incomeCents);
+    }
+
+    public void setIncome(double income) {
+        this.incomeCents = Cents.of(income);
+    }
+
+    public double getLoanValue() {
+        return Cents.toDouble(loanValueCents);
+    }
 
-    @NotNull(message = "Loan value is required")
-    @Min(value = 1, message = "Loan value must be greater than 0")
-    private Double loanValue;
+    public void setLoanValue(double loanValue) {
+        this.loanValueCents = Cents.of(loanValue);
+    }
 
-    @NotNull(message = "Home value is required")
-    @Min(value = 1, message = "Home value must be greater than 0")
-    private Double homeValue;
+    public double getHomeValue() {
+        return Cents.toDouble(homeValueCents);
+    }
 
-    @NotNull(message = "Maturity period is required")
-    @Min(value = 1, message = "Maturity period must be greater than 0")
-    private Integer maturityPeriod;
+    public void setHomeValue(double homeValue) {
+        this.homeValueCents = Cents.of(homeValue);
+    }
 }
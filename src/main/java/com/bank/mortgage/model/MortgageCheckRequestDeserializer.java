@@ -0,0 +1,133 @@
+package com.bank.mortgage.model;
+
+import com.bank.mortgage.util.Cents;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadCapability;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads a {@link MortgageCheckRequest} straight from the token stream into its primitive fields.
+ * <p>
+ * Amounts are taken from the number's text, so {@code 0.29} becomes exactly 29 cents without going
+ * through a {@code double}, and no wrapper or intermediate object is allocated. Numbers in quotes
+ * and a fractional maturity period are accepted, as Jackson does by default. Unknown fields are
+ * handled like any bean's, and a missing or {@code null} field fails the read with a
+ * {@code MismatchedInputException}.
+ */
+public class MortgageCheckRequestDeserializer extends StdDeserializer<MortgageCheckRequest> {
+
+    private static final int INCOME = 1;
+    private static final int LOAN_VALUE = 1 << 1;
+    private static final int HOME_VALUE = 1 << 2;
+    private static final int MATURITY_PERIOD = 1 << 3;
+    private static final int ALL_FIELDS = INCOME | LOAN_VALUE | HOME_VALUE | MATURITY_PERIOD;
+
+    public MortgageCheckRequestDeserializer() {
+        super(MortgageCheckRequest.class);
+    }
+
+    @Override
+    public MortgageCheckRequest deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME) {
+            return (MortgageCheckRequest) ctxt.handleUnexpectedToken(MortgageCheckRequest.class, parser);
+        }
+        MortgageCheckRequest request = new MortgageCheckRequest();
+        int seen = 0;
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "income":
+                    request.setIncomeCents(readCents(parser, ctxt, field));
+                    seen |= INCOME;
+                    break;
+                case "loanValue":
+                    request.setLoanValueCents(readCents(parser, ctxt, field));
+                    seen |= LOAN_VALUE;
+                    break;
+                case "homeValue":
+                    request.setHomeValueCents(readCents(parser, ctxt, field));
+                    seen |= HOME_VALUE;
+                    break;
+                case "maturityPeriod":
+                    request.setMaturityPeriod(readMaturityPeriod(parser, ctxt));
+                    seen |= MATURITY_PERIOD;
+                    break;
+                default:
+                    ctxt.handleUnknownProperty(parser, this, MortgageCheckRequest.class, field);
+            }
+        }
+        if (seen != ALL_FIELDS) {
+            ctxt.reportInputMismatch(this, "Mortgage check request requires income, loanValue, homeValue and maturityPeriod");
+        }
+        return request;
+    }
+
+    private long readCents(JsonParser parser, DeserializationContext ctxt, String field) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            long units = parser.getLongValue();
+            // not Math.abs: it leaves Long.MIN_VALUE negative
+            if (units >= -Long.MAX_VALUE / 100 && units <= Long.MAX_VALUE / 100) {
+                return units * 100;
+            }
+        } else if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT
+                && token != JsonToken.VALUE_STRING) {
+            return (Long) ctxt.handleUnexpectedToken(Long.TYPE, parser);
+        }
+        try {
+            if (token == JsonToken.VALUE_NUMBER_FLOAT && isBinaryFloat(parser)) {
+                return Cents.of(parser.getDoubleValue());
+            }
+            // JSON keeps the number's text, so the common case is parsed in place
+            long cents = Cents.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (cents != Cents.INVALID) {
+                return cents;
+            }
+            return token == JsonToken.VALUE_STRING ? Cents.parse(parser.getText().trim()) : Cents.of(parser.getDecimalValue());
+        } catch (NumberFormatException | ArithmeticException e) {
+            return (Long) ctxt.handleWeirdStringValue(Long.TYPE, parser.getText(),
+                    "not an amount in the range of field '%s'", field);
+        }
+    }
+
+    /**
+     * Whether the current number is a binary float, as CBOR and Smile send it. Such a number has no
+     * text of its own, so it is converted from the double instead.
+     */
+    private static boolean isBinaryFloat(JsonParser parser) throws IOException {
+        return parser.getReadCapabilities().isEnabled(StreamReadCapability.EXACT_FLOATS)
+                && parser.getNumberType() != JsonParser.NumberType.BIG_DECIMAL;
+    }
+
+    private int readMaturityPeriod(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            if (parser.getNumberType() == JsonParser.NumberType.INT) {
+                return parser.getIntValue();
+            }
+            return (Integer) ctxt.handleWeirdNumberValue(Integer.TYPE, parser.getNumberValue(),
+                    "out of range of int");
+        }
+        if (token == JsonToken.VALUE_NUMBER_FLOAT && ctxt.isEnabled(DeserializationFeature.ACCEPT_FLOAT_AS_INT)) {
+            return (int) parser.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.parseInt(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return (Integer) ctxt.handleWeirdStringValue(Integer.TYPE, parser.getText(),
+                        "not a whole number of years");
+            }
+        }
+        return (Integer) ctxt.handleUnexpectedToken(Integer.TYPE, parser);
+    }
+}
@@ -0,0 +1,28 @@
+package com.bank.mortgage.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link MortgageCheckRequest} field by field, with the amounts as decimal numbers, e.g.
+ * {@code "income":75000.5}.
+ */
+public class MortgageCheckRequestSerializer extends StdSerializer<MortgageCheckRequest> {
+
+    public MortgageCheckRequestSerializer() {
+        super(MortgageCheckRequest.class);
+    }
+
+    @Override
+    public void serialize(MortgageCheckRequest request, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(request);
+        generator.writeNumberField("income", request.getIncome());
+        generator.writeNumberField("loanValue", request.getLoanValue());
+        generator.writeNumberField("homeValue", request.getHomeValue());
+        generator.writeNumberField("maturityPeriod", request.getMaturityPeriod());
+        generator.writeEndObject();
+    }
+}
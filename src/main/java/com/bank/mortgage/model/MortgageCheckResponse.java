@@ -1,5 +1,7 @@
 package com.bank.mortgage.model;
 
+import com.bank.mortgage.util.ExceptionMessage;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -7,8 +9,24 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
+@JsonSerialize(using = MortgageCheckResponseSerializer.class)
 public class MortgageCheckResponse {
     private boolean isFeasible;
     private double monthlyCost;
+    /**
+     * Why the application is not feasible, e.g. {@code MAX_LOAN_EXCEEDED}. Only set on a rejection,
+     * and left out of the JSON otherwise.
+     */
+    private String reasonCode;
 
+    public MortgageCheckResponse(boolean isFeasible, double monthlyCost) {
+        this(isFeasible, monthlyCost, null);
+    }
+
+    /**
+     * Builds the response for an application rejected for the given reason.
+     */
+    public static MortgageCheckResponse rejected(ExceptionMessage reason) {
+        return new MortgageCheckResponse(false, 0, reason.name());
+    }
 }
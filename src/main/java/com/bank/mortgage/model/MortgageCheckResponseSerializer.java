@@ -0,0 +1,29 @@
+package com.bank.mortgage.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link MortgageCheckResponse} field by field, in the order the bean serializer used:
+ * {@code monthlyCost}, {@code reasonCode} if set, then {@code feasible}.
+ */
+public class MortgageCheckResponseSerializer extends StdSerializer<MortgageCheckResponse> {
+
+    public MortgageCheckResponseSerializer() {
+        super(MortgageCheckResponse.class);
+    }
+
+    @Override
+    public void serialize(MortgageCheckResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(response);
+        generator.writeNumberField("monthlyCost", response.getMonthlyCost());
+        if (response.getReasonCode() != null) {
+            generator.writeStringField("reasonCode", response.getReasonCode());
+        }
+        generator.writeBooleanField("feasible", response.isFeasible());
+        generator.writeEndObject();
+    }
+}
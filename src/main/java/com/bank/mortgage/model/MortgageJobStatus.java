@@ -0,0 +1,33 @@
+package com.bank.mortgage.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress and outcome of a bulk mortgage check job.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MortgageJobStatus {
+    private String id;
+    private State state;
+    private String fileName;
+    private long itemsRead;
+    private long itemsProcessed;
+    private long itemsFailed;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private String error;
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
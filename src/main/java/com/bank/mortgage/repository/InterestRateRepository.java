@@ -4,9 +4,13 @@ import com.bank.mortgage.model.InterestRate;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface InterestRateRepository extends JpaRepository<InterestRate, UUID> {
     InterestRate findByMaturityPeriod(int maturityPeriod);
+
+    List<InterestRate> findByLastUpdateAfter(Timestamp lastUpdate);
 }
@@ -0,0 +1,100 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.exception.InvalidAmortizationRequestException;
+import com.bank.mortgage.model.AmortizationSummary;
+import com.bank.mortgage.strategy.MortgageCalculatorStrategy;
+import com.bank.mortgage.util.MortgageConstants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Produces amortization schedules for loans at the current interest rates.
+ */
+@Service
+@RequiredArgsConstructor
+public class AmortizationService {
+    private static final SerializedString PERIOD = new SerializedString("period");
+    private static final SerializedString PAYMENT = new SerializedString("payment");
+    private static final SerializedString INTEREST = new SerializedString("interest");
+    private static final SerializedString PRINCIPAL = new SerializedString("principal");
+    private static final SerializedString REMAINING_BALANCE = new SerializedString("remainingBalance");
+
+    private final InterestRateService interestRateService;
+    private final MortgageCalculatorStrategy mortgageCalculator;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams the amortization schedule as a JSON array of period rows. Rows are written as the
+     * calculator produces them, so no schedule is ever held in memory.
+     *
+     * @param loanValue      Value of the loan.
+     * @param maturityPeriod Maturity period in years.
+     * @param out            Stream the schedule is written to.
+     * @throws InvalidAmortizationRequestException if the loan value is not positive or the maturity
+     *                                             period is out of range.
+     */
+    public void writeSchedule(double loanValue, int maturityPeriod, OutputStream out) throws IOException {
+        double interestRate = resolveInterestRate(loanValue, maturityPeriod);
+        try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            try {
+                mortgageCalculator.generateSchedule(loanValue, interestRate, maturityPeriod,
+                        (period, payment, interest, principal, remainingBalance) -> {
+                            try {
+                                generator.writeStartObject();
+                                generator.writeFieldName(PERIOD);
+                                generator.writeNumber(period);
+                                generator.writeFieldName(PAYMENT);
+                                generator.writeNumber(payment);
+                                generator.writeFieldName(INTEREST);
+                                generator.writeNumber(interest);
+                                generator.writeFieldName(PRINCIPAL);
+                                generator.writeNumber(principal);
+                                generator.writeFieldName(REMAINING_BALANCE);
+                                generator.writeNumber(remainingBalance);
+                                generator.writeEndObject();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Computes the totals of the amortization schedule without generating it.
+     *
+     * @param loanValue      Value of the loan.
+     * @param maturityPeriod Maturity period in years.
+     * @return The schedule totals.
+     * @throws InvalidAmortizationRequestException if the loan value is not positive or the maturity
+     *                                             period is out of range.
+     */
+    public AmortizationSummary summarizeSchedule(double loanValue, int maturityPeriod) {
+        double interestRate = resolveInterestRate(loanValue, maturityPeriod);
+        return mortgageCalculator.summarizeSchedule(loanValue, interestRate, maturityPeriod);
+    }
+
+    /**
+     * The rate curve prices any maturity period, so periods beyond
+     * {@link MortgageConstants#MAX_MATURITY_PERIOD} are refused here; they would stream billions of
+     * rows, or overflow the number of payments.
+     */
+    private double resolveInterestRate(double loanValue, int maturityPeriod) {
+        if (!(loanValue > 0) || maturityPeriod < 1 || maturityPeriod > MortgageConstants.MAX_MATURITY_PERIOD) {
+            throw new InvalidAmortizationRequestException();
+        }
+        return interestRateService.getRate(maturityPeriod);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.mortgage.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Keeps this instance's interest rate snapshot in line with the database when rates are changed
+ * through another instance or written to the database directly.
+ * <p>
+ * Each poll only reads the rows updated since the snapshot's watermark, which for an unchanged
+ * table is none. Because an incremental poll cannot see deleted rows, the whole table is reloaded
+ * once every {@code full-interval}.
+ * <p>
+ * Polls run in a read-write transaction, so with a read replica configured they still read the
+ * primary. The staleness metric then measures the time since the snapshot matched the primary,
+ * and replica lag cannot make an outdated snapshot look fresh.
+ */
+@Component
+@ConditionalOnProperty(name = "mortgage.rates.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class InterestRateRefresher {
+    private static final Logger logger = LoggerFactory.getLogger(InterestRateRefresher.class);
+
+    private final InterestRateService interestRateService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lookback;
+    private final Duration fullInterval;
+
+    private long lastFullRefresh = System.nanoTime();
+
+    public InterestRateRefresher(InterestRateService interestRateService,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${mortgage.rates.refresh.lookback:10s}") Duration lookback,
+                                 @Value("${mortgage.rates.refresh.full-interval:1h}") Duration fullInterval) {
+        this.interestRateService = interestRateService;
+        this.transactionTemplate = transactionTemplate;
+        this.lookback = lookback;
+        this.fullInterval = fullInterval;
+    }
+
+    /**
+     * Polls the database for changed rates. A failed poll is logged and retried on the next one;
+     * until then the snapshot stays as it was and the staleness metric keeps growing.
+     */
+    @Scheduled(initialDelayString = "${mortgage.rates.refresh.interval:30s}",
+            fixedDelayString = "${mortgage.rates.refresh.interval:30s}")
+    public void refresh() {
+        try {
+            long now = System.nanoTime();
+            if (now - lastFullRefresh >= fullInterval.toNanos()) {
+                transactionTemplate.executeWithoutResult(status -> interestRateService.refreshRates());
+                lastFullRefresh = now;
+            } else {
+                transactionTemplate.executeWithoutResult(status -> interestRateService.refreshChangedRates(lookback));
+            }
+        } catch (Exception e) {
+            logger.warn("Could not refresh interest rates", e);
+        }
+    }
+}
\ No newline at end of file
@@ -1,35 +1,86 @@
 package com.bank.mortgage.service;
 
+import com.bank.mortgage.cache.InterestRateCurve;
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.cache.InterestRatesRefreshedEvent;
+import com.bank.mortgage.config.CacheConfig;
 import com.bank.mortgage.exception.InterestRateNotFoundException;
 import com.bank.mortgage.model.InterestRate;
 import com.bank.mortgage.model.InterestRateResponse;
 import com.bank.mortgage.repository.InterestRateRepository;
 import com.bank.mortgage.util.ExceptionMessage;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class InterestRateService {
     private static final Logger logger = LoggerFactory.getLogger(InterestRateService.class);
 
     private final InterestRateRepository interestRateRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InterestRateCurve.Lookup lookup;
+
+    // a lock rather than a monitor, so a virtual thread waiting for the database here does not pin its carrier
+    private final Lock snapshotLock = new ReentrantLock();
+
+    private volatile InterestRateSnapshot snapshot;
+
+    // when the snapshot was last known to match the database, in epoch millis; 0 until first loaded
+    private volatile long verifiedAt;
+
+    public InterestRateService(InterestRateRepository interestRateRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${mortgage.rates.lookup:exact}") InterestRateCurve.Lookup lookup) {
+        this.interestRateRepository = interestRateRepository;
+        this.eventPublisher = eventPublisher;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Prices a maturity period on the current rate curve. Depending on the configured
+     * {@link InterestRateCurve.Lookup}, periods without their own row are priced from their
+     * neighbours.
+     *
+     * @param maturityPeriod The maturity period of the mortgage.
+     * @return The interest rate.
+     * @throws InterestRateNotFoundException if the curve cannot price the period.
+     */
+    public double getRate(int maturityPeriod) {
+        double rate = currentSnapshot().rate(maturityPeriod);
+        if (Double.isNaN(rate)) {
+            logger.info("No interest rate found for maturity period: {}", maturityPeriod);
+            throw new InterestRateNotFoundException(ExceptionMessage.INTEREST_RATE_FETCH_ERROR.getMessage());
+        }
+        return rate;
+    }
 
     /**
-     * Finds the interest rate for a given maturity period.
+     * Finds the interest rate row for a given maturity period; only listed periods are found.
+     * <p>
+     * Lookups are served from the in-memory rate snapshot; the database is only read when the
+     * snapshot is first loaded or explicitly refreshed.
      *
      * @param maturityPeriod The maturity period of the mortgage.
-     * @return The interest rate entity.
+     * @return The interest rate entity, shared with other readers and not to be modified.
      * @throws InterestRateNotFoundException if no interest rate is found.
      */
     public InterestRate getInterestRate(int maturityPeriod) {
-        InterestRate interestRateEntity = interestRateRepository.findByMaturityPeriod(maturityPeriod);
+        InterestRate interestRateEntity = currentSnapshot().find(maturityPeriod);
         if (interestRateEntity == null) {
             logger.info("No interest rate found for maturity period: {}", maturityPeriod);
             throw new InterestRateNotFoundException(ExceptionMessage.INTEREST_RATE_FETCH_ERROR.getMessage());
@@ -38,11 +89,13 @@ public class InterestRateService {
     }
 
     /**
-     * Fetches a list of all interest rates.
+     * Fetches a list of all interest rates. Like every read here, it runs in a read-only
+     * transaction, which is served by the read replica when one is configured.
      *
      * @return List of interest rate responses.
      */
-    @Cacheable("interestRates")
+    @Cacheable(CacheConfig.INTEREST_RATES_CACHE)
+    @Transactional(readOnly = true)
     public List<InterestRateResponse> getAllInterestRates() {
         try {
             return interestRateRepository.findAll().stream()
@@ -53,4 +106,130 @@ public class InterestRateService {
             throw new InterestRateNotFoundException(ExceptionMessage.INTEREST_RATE_FETCH_ERROR.getMessage());
         }
     }
+
+    /**
+     * Reloads all interest rates from the database, atomically swaps the in-memory snapshot and
+     * invalidates the cached rate listing. Must be called whenever the interest rate table changes.
+     * Called within a read-write transaction, it joins it and reads from the primary database.
+     */
+    @CacheEvict(value = CacheConfig.INTEREST_RATES_CACHE, allEntries = true)
+    @Transactional(readOnly = true)
+    public void refreshRates() {
+        snapshotLock.lock();
+        try {
+            InterestRateSnapshot refreshed = publish(loadAll());
+            logger.info("Interest rate snapshot refreshed with {} rates", refreshed.size());
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Brings the in-memory snapshot up to date by reading only the rows whose {@code lastUpdate} is
+     * past the snapshot's watermark, and swaps in a merged snapshot if any of them changed it. The
+     * cached rate listing is only invalidated in that case.
+     * <p>
+     * The query reaches back {@code lookback} before the watermark, so a row stamped shortly before
+     * an already seen one but committed after it, or stamped by a node whose clock lags, is still
+     * picked up. Rows deleted from the table are not detected; {@link #refreshRates()} is needed for
+     * those.
+     *
+     * @param lookback How far before the watermark changed rows are looked for.
+     * @return {@code true} if a new snapshot was published.
+     */
+    @CacheEvict(value = CacheConfig.INTEREST_RATES_CACHE, allEntries = true, condition = "#result")
+    @Transactional(readOnly = true)
+    public boolean refreshChangedRates(Duration lookback) {
+        snapshotLock.lock();
+        try {
+            InterestRateSnapshot current = snapshot;
+            if (current == null) {
+                publish(loadAll());
+                return true;
+            }
+            Timestamp watermark = current.getLatestUpdate();
+            Timestamp since = new Timestamp((watermark != null ? watermark.getTime() : 0) - lookback.toMillis());
+            long queriedAt = System.currentTimeMillis();
+            List<InterestRate> changed = interestRateRepository.findByLastUpdateAfter(since);
+            verifiedAt = queriedAt;
+
+            InterestRateSnapshot refreshed = current.withUpdates(changed);
+            if (refreshed == current) {
+                return false;
+            }
+            publish(refreshed);
+            logger.info("Interest rate snapshot updated from {} changed rates, now {} rates", changed.size(), refreshed.size());
+            return true;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Returns how long ago the in-memory snapshot was last confirmed to match the database, which
+     * bounds how long a change made through another instance can go unnoticed. It only accounts for
+     * replica lag if the confirming query ran on the primary, as the refresher's polls do.
+     *
+     * @return The staleness, or {@code null} if the snapshot has not been loaded yet.
+     */
+    public Duration getStaleness() {
+        long verified = verifiedAt;
+        return verified == 0 ? null : Duration.ofMillis(System.currentTimeMillis() - verified);
+    }
+
+    /**
+     * Loads the rate snapshot once the application is ready so the first mortgage check does not
+     * pay for it. A failure is not fatal; the snapshot is then loaded on first use instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpRates() {
+        try {
+            refreshRates();
+        } catch (Exception e) {
+            logger.warn("Could not load interest rate snapshot at startup", e);
+        }
+    }
+
+    /**
+     * Returns the current interest rate snapshot, loading it on first use. Callers that price many
+     * applications hold on to one snapshot so they all see a consistent rate set.
+     *
+     * @return The current interest rate snapshot.
+     */
+    public InterestRateSnapshot getRateSnapshot() {
+        return currentSnapshot();
+    }
+
+    private InterestRateSnapshot currentSnapshot() {
+        InterestRateSnapshot current = snapshot;
+        if (current == null) {
+            snapshotLock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = publish(loadAll());
+                }
+            } finally {
+                snapshotLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private InterestRateSnapshot loadAll() {
+        long loadedAt = System.currentTimeMillis();
+        InterestRateSnapshot loaded = InterestRateSnapshot.of(interestRateRepository.findAll(), lookup);
+        verifiedAt = loadedAt;
+        return loaded;
+    }
+
+    /**
+     * Swaps in a new snapshot and notifies listeners. Called with the snapshot lock held so that
+     * listeners observe snapshots in the order they were published.
+     */
+    private InterestRateSnapshot publish(InterestRateSnapshot refreshed) {
+        snapshot = refreshed;
+        eventPublisher.publishEvent(new InterestRatesRefreshedEvent(refreshed));
+        return refreshed;
+    }
 }
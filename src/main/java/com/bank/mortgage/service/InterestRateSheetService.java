@@ -0,0 +1,110 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.exception.InvalidRateSheetException;
+import com.bank.mortgage.model.InterestRateSheetResult;
+import com.bank.mortgage.model.InterestRateUpdate;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies interest rate sheets pushed by Treasury.
+ * <p>
+ * A sheet is written in one transaction as a single JDBC batch of {@code MERGE} statements keyed
+ * on the maturity period, which updates the listed periods the table has and inserts the others.
+ * The unique index on {@code maturity_period} keeps two sheets applied at once from inserting the
+ * same period twice; the sheet that loses such a race is retried once, and then finds the row to
+ * update. Only after the commit is the rate snapshot reloaded and swapped in, so mortgage checks
+ * keep pricing against the previous snapshot without blocking and then see the whole sheet at
+ * once, never half of it.
+ */
+@Service
+@RequiredArgsConstructor
+public class InterestRateSheetService {
+    private static final Logger logger = LoggerFactory.getLogger(InterestRateSheetService.class);
+
+    private static final String MERGE_RATE = "MERGE INTO interest_rate r"
+            + " USING (VALUES (CAST(? AS INT), CAST(? AS FLOAT), CAST(? AS TIMESTAMP), CAST(? AS UUID)))"
+            + " s (maturity_period, interest_rate, last_update, id)"
+            + " ON r.maturity_period = s.maturity_period"
+            + " WHEN MATCHED THEN UPDATE SET interest_rate = s.interest_rate, last_update = s.last_update"
+            + " WHEN NOT MATCHED THEN INSERT (id, maturity_period, interest_rate, last_update)"
+            + " VALUES (s.id, s.maturity_period, s.interest_rate, s.last_update)";
+    private static final String COUNT_LISTED = "SELECT COUNT(*) FROM interest_rate WHERE maturity_period IN (";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InterestRateService interestRateService;
+
+    /**
+     * Inserts or replaces the rates of a sheet and publishes the new rate set to readers.
+     *
+     * @param sheet Interest rate per maturity period; each maturity period at most once.
+     * @return The number of rates updated and inserted, and the {@code lastUpdate} stamped on them.
+     * @throws InvalidRateSheetException if the sheet is empty or has an invalid or duplicate row.
+     */
+    public InterestRateSheetResult upsertRates(List<InterestRateUpdate> sheet) {
+        validate(sheet);
+        Timestamp lastUpdate = new Timestamp(System.currentTimeMillis());
+        InterestRateSheetResult result;
+        try {
+            result = transactionTemplate.execute(status -> write(sheet, lastUpdate));
+        } catch (DuplicateKeyException e) {
+            logger.info("Interest rate sheet raced with another one inserting the same maturity period; retrying");
+            result = transactionTemplate.execute(status -> write(sheet, lastUpdate));
+        }
+
+        // reread from the primary in a read-write transaction: a read replica may not have the sheet yet
+        transactionTemplate.executeWithoutResult(status -> interestRateService.refreshRates());
+        logger.info("Applied interest rate sheet: {} rates updated, {} inserted", result.getUpdated(), result.getInserted());
+        return result;
+    }
+
+    /**
+     * Merges the sheet into the table. Update counts cannot tell an update from an insert, so the
+     * listed periods the table already has are counted first.
+     */
+    private InterestRateSheetResult write(List<InterestRateUpdate> sheet, Timestamp lastUpdate) {
+        StringBuilder countListed = new StringBuilder(COUNT_LISTED);
+        Object[] maturityPeriods = new Object[sheet.size()];
+        for (int i = 0; i < sheet.size(); i++) {
+            countListed.append(i == 0 ? "?" : ", ?");
+            maturityPeriods[i] = sheet.get(i).getMaturityPeriod();
+        }
+        Integer updated = jdbcTemplate.queryForObject(countListed.append(')').toString(), Integer.class, maturityPeriods);
+
+        jdbcTemplate.batchUpdate(MERGE_RATE, sheet, sheet.size(), (statement, rate) -> {
+            statement.setInt(1, rate.getMaturityPeriod());
+            statement.setDouble(2, rate.getInterestRate());
+            statement.setTimestamp(3, lastUpdate);
+            statement.setObject(4, UUID.randomUUID());
+        });
+        return new InterestRateSheetResult(updated, sheet.size() - updated, lastUpdate);
+    }
+
+    private static void validate(List<InterestRateUpdate> sheet) {
+        if (sheet == null || sheet.isEmpty()) {
+            throw new InvalidRateSheetException();
+        }
+        Set<Integer> maturityPeriods = new HashSet<>();
+        for (InterestRateUpdate rate : sheet) {
+            if (rate == null
+                    || rate.getMaturityPeriod() <= 0
+                    || !(rate.getInterestRate() >= 0)
+                    || Double.isInfinite(rate.getInterestRate())
+                    || !maturityPeriods.add(rate.getMaturityPeriod())) {
+                throw new InvalidRateSheetException();
+            }
+        }
+    }
+}
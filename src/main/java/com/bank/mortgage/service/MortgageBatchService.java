@@ -0,0 +1,228 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.exception.ErrorResponse;
+import com.bank.mortgage.exception.HomeValueExceededException;
+import com.bank.mortgage.exception.InterestRateNotFoundException;
+import com.bank.mortgage.exception.InvalidBatchRequestException;
+import com.bank.mortgage.exception.InvalidMortgageCheckRequestException;
+import com.bank.mortgage.exception.MaxLoanExceededException;
+import com.bank.mortgage.metrics.MortgageMetrics;
+import com.bank.mortgage.model.MortgageCheckBatchResult;
+import com.bank.mortgage.model.MortgageCheckRequest;
+import com.bank.mortgage.util.ExceptionMessage;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Checks batches of mortgage applications streamed in as an array, in JSON or in a binary Jackson
+ * format such as CBOR or Smile, or as NDJSON.
+ * <p>
+ * Items are read, priced and written one at a time, so memory use does not grow with the size of
+ * the batch. Every item is priced against the same rate snapshot, and a failing item yields an
+ * error entry instead of failing the whole batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class MortgageBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(MortgageBatchService.class);
+
+    private final MortgageService mortgageService;
+    private final InterestRateService interestRateService;
+    private final ObjectMapper objectMapper;
+    private final MortgageMetrics mortgageMetrics;
+
+    /**
+     * Processes a JSON array of mortgage check requests and writes a JSON array of results.
+     *
+     * @param in  Request body containing a JSON array.
+     * @param out Response body.
+     * @return Number of items processed.
+     * @throws InvalidBatchRequestException if the body does not start with a JSON array.
+     */
+    public long processJsonArray(InputStream in, OutputStream out) throws IOException {
+        return processArray(in, out, objectMapper);
+    }
+
+    /**
+     * Processes an array of mortgage check requests and writes an array of results, both in the
+     * data format of the given mapper.
+     *
+     * @param in     Request body containing an array.
+     * @param out    Response body.
+     * @param format Mapper for the data format of the request and the response, e.g. CBOR or Smile.
+     * @return Number of items processed.
+     * @throws InvalidBatchRequestException if the body does not start with an array.
+     */
+    public long processArray(InputStream in, OutputStream out, ObjectMapper format) throws IOException {
+        ObjectReader reader = format.readerFor(MortgageCheckRequest.class);
+        try (JsonParser parser = format.createParser(in)) {
+            if (nextToken(parser) != JsonToken.START_ARRAY) {
+                throw new InvalidBatchRequestException();
+            }
+            JsonStreamContext arrayContext = parser.getParsingContext();
+            InterestRateSnapshot rates = interestRateService.getRateSnapshot();
+
+            try (JsonGenerator generator = format.createGenerator(out, JsonEncoding.UTF8)) {
+                generator.writeStartArray();
+                long index = 0;
+                boolean readable = true;
+                while (readable) {
+                    MortgageCheckBatchResult result;
+                    try {
+                        JsonToken token = parser.nextToken();
+                        if (token == JsonToken.END_ARRAY) {
+                            break;
+                        }
+                        if (token == null) {
+                            // truncated body: report it once and close the array
+                            result = invalidItem(index);
+                            readable = false;
+                        } else {
+                            result = check(index, reader.readValue(parser), rates);
+                        }
+                    } catch (JsonMappingException e) {
+                        skipToContext(parser, arrayContext);
+                        result = invalidItem(index);
+                    } catch (JsonProcessingException e) {
+                        // a syntax error leaves nothing to resume from, so it is the last entry
+                        result = invalidItem(index);
+                        readable = false;
+                    }
+                    generator.writeObject(result);
+                    index++;
+                }
+                generator.writeEndArray();
+                logger.info("Processed mortgage check batch of {} items", index);
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Processes newline-delimited JSON mortgage check requests and writes one result per line.
+     * Blank lines are ignored; a line that cannot be read yields an error result for that line only.
+     *
+     * @param in  Request body containing one JSON object per line.
+     * @param out Response body.
+     * @return Number of items processed.
+     */
+    public long processNdjson(InputStream in, OutputStream out) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(MortgageCheckRequest.class);
+        InterestRateSnapshot rates = interestRateService.getRateSnapshot();
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            long index = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                MortgageCheckBatchResult result;
+                try {
+                    result = check(index, reader.readValue(line), rates);
+                } catch (JsonProcessingException e) {
+                    result = invalidItem(index);
+                }
+                generator.writeObject(result);
+                index++;
+            }
+            if (index > 0) {
+                generator.writeRaw('\n');
+            }
+            logger.info("Processed mortgage check batch of {} items", index);
+            return index;
+        }
+    }
+
+    /**
+     * Checks one item of a batch, turning a failure into an error result for that item.
+     *
+     * @param index   Zero-based position of the item in the batch.
+     * @param request Mortgage check request, or {@code null} if the item was a JSON null.
+     * @param rates   Interest rate snapshot shared by the whole batch.
+     * @return The result for the item.
+     */
+    MortgageCheckBatchResult check(long index, MortgageCheckRequest request, InterestRateSnapshot rates) {
+        if (request == null) {
+            return invalidItem(index);
+        }
+        try {
+            return new MortgageCheckBatchResult(index, mortgageService.calculateMortgage(request, rates), null);
+        } catch (RuntimeException e) {
+            return new MortgageCheckBatchResult(index, null, toErrorResponse(e));
+        }
+    }
+
+    private ErrorResponse toErrorResponse(RuntimeException e) {
+        if (e instanceof MaxLoanExceededException) {
+            mortgageMetrics.rejected(ExceptionMessage.MAX_LOAN_EXCEEDED);
+            return new ErrorResponse(e.getMessage(), "MAX_LOAN_EXCEEDED", HttpStatus.BAD_REQUEST);
+        }
+        if (e instanceof HomeValueExceededException) {
+            mortgageMetrics.rejected(ExceptionMessage.HOME_VALUE_EXCEEDED);
+            return new ErrorResponse(e.getMessage(), "HOME_VALUE_EXCEEDED", HttpStatus.BAD_REQUEST);
+        }
+        if (e instanceof InterestRateNotFoundException) {
+            mortgageMetrics.rejected(ExceptionMessage.INTEREST_RATE_NOT_FOUND);
+            return new ErrorResponse(e.getMessage(), "INTEREST_RATE_NOT_FOUND", HttpStatus.NOT_FOUND);
+        }
+        if (e instanceof InvalidMortgageCheckRequestException) {
+            mortgageMetrics.clientError(ExceptionMessage.INVALID_MORTGAGE_CHECK_REQUEST);
+            return new ErrorResponse(e.getMessage(), "INVALID_MORTGAGE_CHECK_REQUEST", HttpStatus.BAD_REQUEST);
+        }
+        mortgageMetrics.serverError(ExceptionMessage.MORTGAGE_CALCULATION_ERROR);
+        return new ErrorResponse(ExceptionMessage.MORTGAGE_CALCULATION_ERROR.getMessage(), "MORTGAGE_CALCULATION_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Builds the error result for an item that is not a readable mortgage check request.
+     */
+    MortgageCheckBatchResult invalidItem(long index) {
+        mortgageMetrics.clientError(ExceptionMessage.INVALID_BATCH_ITEM);
+        ErrorResponse error = new ErrorResponse(ExceptionMessage.INVALID_BATCH_ITEM.getMessage(), "INVALID_BATCH_ITEM", HttpStatus.BAD_REQUEST);
+        return new MortgageCheckBatchResult(index, null, error);
+    }
+
+    private static JsonToken nextToken(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw new InvalidBatchRequestException(e);
+        }
+    }
+
+    /**
+     * Skips the remainder of an item that failed to bind, leaving the parser on the item's last
+     * token so the next call to {@code nextToken()} moves to the following array element.
+     */
+    private static void skipToContext(JsonParser parser, JsonStreamContext context) throws IOException {
+        while (parser.getParsingContext() != context) {
+            if (parser.nextToken() == null) {
+                return;
+            }
+        }
+    }
+}
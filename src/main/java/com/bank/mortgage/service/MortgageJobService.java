@@ -0,0 +1,392 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.exception.InvalidJobFileException;
+import com.bank.mortgage.exception.JobNotCompletedException;
+import com.bank.mortgage.exception.JobNotFoundException;
+import com.bank.mortgage.model.MortgageCheckBatchResult;
+import com.bank.mortgage.model.MortgageCheckRequest;
+import com.bank.mortgage.model.MortgageJobStatus;
+import com.bank.mortgage.util.Cents;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs bulk mortgage checks over uploaded CSV or NDJSON files in the background.
+ * <p>
+ * An uploaded file is stored in the job directory and read line by line. Lines are grouped into
+ * chunks which are parsed, priced and written by a fixed pool of worker threads. The number of
+ * chunks in flight per job is bounded, so heap use depends on the chunk size and the number of
+ * workers, never on the size of the file. Results are appended to a per-job NDJSON file, one
+ * {@link MortgageCheckBatchResult} per input item; chunks finish in any order, so results are
+ * identified by their {@code index} rather than by their position in the file.
+ * <p>
+ * Finished jobs are kept for a retention period, after which the job and its result file are
+ * removed. A failed job's partial results are deleted straight away.
+ */
+@Service
+public class MortgageJobService implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(MortgageJobService.class);
+
+    private static final String[] CSV_COLUMNS = {"income", "loanValue", "homeValue", "maturityPeriod"};
+
+    private final MortgageBatchService mortgageBatchService;
+    private final InterestRateService interestRateService;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final Path jobDirectory;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final Duration retention;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService workerExecutor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public MortgageJobService(MortgageBatchService mortgageBatchService,
+                              InterestRateService interestRateService,
+                              ObjectMapper objectMapper,
+                              @Value("${mortgage.jobs.directory:${java.io.tmpdir}/mortgage-jobs}") String jobDirectory,
+                              @Value("${mortgage.jobs.chunk-size:1000}") int chunkSize,
+                              @Value("${mortgage.jobs.worker-threads:0}") int workerThreads,
+                              @Value("${mortgage.jobs.concurrent-jobs:1}") int concurrentJobs,
+                              @Value("${mortgage.jobs.retention:24h}") Duration retention,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) throws IOException {
+        this.mortgageBatchService = mortgageBatchService;
+        this.interestRateService = interestRateService;
+        this.requestReader = objectMapper.readerFor(MortgageCheckRequest.class);
+        this.resultWriter = objectMapper.writerFor(MortgageCheckBatchResult.class);
+        this.jobDirectory = Files.createDirectories(Paths.get(jobDirectory));
+        this.chunkSize = chunkSize;
+        this.retention = retention;
+
+        int workers = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        this.maxChunksInFlight = workers * 2;
+        // job threads mostly wait on file I/O and on the in-flight semaphore, so they may be virtual;
+        // workers are CPU bound and stay on platform threads, one per core
+        ThreadFactory jobThreadFactory = virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)
+                ? new VirtualThreadTaskExecutor("mortgage-job-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("mortgage-job-");
+        this.jobExecutor = new ThreadPoolExecutor(concurrentJobs, concurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), jobThreadFactory);
+        // the queue is bounded by the in-flight semaphore of each running job
+        this.workerExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("mortgage-job-worker-"));
+    }
+
+    /**
+     * Stores an uploaded file and queues a job for it.
+     *
+     * @param file CSV file with a header row naming the request fields, or NDJSON file with one
+     *             mortgage check request per line.
+     * @return Status of the queued job.
+     * @throws InvalidJobFileException if the file is neither CSV nor NDJSON.
+     */
+    public MortgageJobStatus submit(MultipartFile file) throws IOException {
+        Format format = Format.of(file.getOriginalFilename(), file.getContentType());
+        String id = UUID.randomUUID().toString();
+        Path input = jobDirectory.resolve(id + ".input");
+        file.transferTo(input);
+
+        Job job = new Job(id, file.getOriginalFilename(), format, input, jobDirectory.resolve(id + ".ndjson"));
+        jobs.put(id, job);
+        jobExecutor.execute(() -> run(job));
+        logger.info("Queued mortgage check job {} for file {}", id, file.getOriginalFilename());
+        return job.toStatus();
+    }
+
+    /**
+     * Returns the progress of a job.
+     *
+     * @param id Job id.
+     * @return Status of the job.
+     * @throws JobNotFoundException if there is no job with the id.
+     */
+    public MortgageJobStatus getStatus(String id) {
+        return findJob(id).toStatus();
+    }
+
+    /**
+     * Returns the result file of a completed job.
+     *
+     * @param id Job id.
+     * @return Path of the NDJSON result file.
+     * @throws JobNotFoundException     if there is no job with the id.
+     * @throws JobNotCompletedException if the job has not completed successfully.
+     */
+    public Path getResult(String id) {
+        Job job = findJob(id);
+        if (job.state != MortgageJobStatus.State.COMPLETED) {
+            throw new JobNotCompletedException();
+        }
+        return job.output;
+    }
+
+    /**
+     * Publishes pool size, active threads and queue length of the job and worker executors.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(jobExecutor, "mortgage.jobs", Collections.emptyList()).bindTo(registry);
+        new ExecutorServiceMetrics(workerExecutor, "mortgage.jobs.workers", Collections.emptyList()).bindTo(registry);
+    }
+
+    /**
+     * Removes jobs that finished longer than the retention period ago, with their result files.
+     */
+    @Scheduled(initialDelayString = "${mortgage.jobs.eviction-interval:5m}",
+            fixedDelayString = "${mortgage.jobs.eviction-interval:5m}")
+    public void evictExpiredJobs() {
+        Instant expiredBefore = Instant.now().minus(retention);
+        for (Job job : jobs.values()) {
+            Instant completedAt = job.completedAt;
+            if (completedAt != null && !completedAt.isAfter(expiredBefore) && jobs.remove(job.id, job)) {
+                deleteQuietly(job.output);
+                logger.info("Removed expired mortgage check job {}", job.id);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        workerExecutor.shutdownNow();
+    }
+
+    private Job findJob(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException();
+        }
+        return job;
+    }
+
+    private void run(Job job) {
+        job.startedAt = Instant.now();
+        job.state = MortgageJobStatus.State.RUNNING;
+        Semaphore inFlight = new Semaphore(maxChunksInFlight);
+        try (BufferedReader reader = Files.newBufferedReader(job.input, StandardCharsets.UTF_8);
+             Writer writer = Files.newBufferedWriter(job.output, StandardCharsets.UTF_8)) {
+            InterestRateSnapshot rates = interestRateService.getRateSnapshot();
+            int[] columns = job.format == Format.CSV ? readCsvHeader(reader.readLine()) : null;
+
+            List<String> chunk = new ArrayList<>(chunkSize);
+            long index = 0;
+            String line;
+            while ((line = reader.readLine()) != null && job.failure.get() == null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    submitChunk(job, chunk, index, columns, rates, writer, inFlight);
+                    index += chunk.size();
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submitChunk(job, chunk, index, columns, rates, writer, inFlight);
+            }
+            inFlight.acquire(maxChunksInFlight);
+
+            if (job.failure.get() != null) {
+                throw job.failure.get();
+            }
+            job.completedAt = Instant.now();
+            job.state = MortgageJobStatus.State.COMPLETED;
+            logger.info("Completed mortgage check job {} with {} items", job.id, job.itemsProcessed.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(job, e);
+        } catch (Exception e) {
+            fail(job, e);
+        } finally {
+            deleteQuietly(job.input);
+        }
+    }
+
+    private void submitChunk(Job job, List<String> lines, long firstIndex, int[] columns, InterestRateSnapshot rates,
+                             Writer writer, Semaphore inFlight) throws InterruptedException {
+        job.itemsRead.addAndGet(lines.size());
+        inFlight.acquire();
+        try {
+            workerExecutor.execute(() -> {
+                try {
+                    processChunk(job, lines, firstIndex, columns, rates, writer);
+                } catch (Exception e) {
+                    job.failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void processChunk(Job job, List<String> lines, long firstIndex, int[] columns, InterestRateSnapshot rates,
+                              Writer writer) throws IOException {
+        StringBuilder results = new StringBuilder(lines.size() * 96);
+        long failed = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            long index = firstIndex + i;
+            MortgageCheckBatchResult result;
+            try {
+                MortgageCheckRequest request = columns != null ? parseCsv(lines.get(i), columns) : requestReader.readValue(lines.get(i));
+                result = mortgageBatchService.check(index, request, rates);
+            } catch (JsonProcessingException | RuntimeException e) {
+                result = mortgageBatchService.invalidItem(index);
+            }
+            if (result.getError() != null) {
+                failed++;
+            }
+            results.append(resultWriter.writeValueAsString(result)).append('\n');
+        }
+        job.outputLock.lock();
+        try {
+            writer.write(results.toString());
+        } finally {
+            job.outputLock.unlock();
+        }
+        job.itemsFailed.addAndGet(failed);
+        job.itemsProcessed.addAndGet(lines.size());
+    }
+
+    /**
+     * Maps the CSV header to the positions of the request fields, matching names case-insensitively.
+     */
+    private static int[] readCsvHeader(String header) {
+        if (header == null) {
+            throw new InvalidJobFileException();
+        }
+        String[] names = header.split(",", -1);
+        int[] columns = new int[CSV_COLUMNS.length];
+        for (int c = 0; c < CSV_COLUMNS.length; c++) {
+            columns[c] = -1;
+            for (int n = 0; n < names.length; n++) {
+                if (names[n].trim().equalsIgnoreCase(CSV_COLUMNS[c])) {
+                    columns[c] = n;
+                }
+            }
+            if (columns[c] < 0) {
+                throw new InvalidJobFileException();
+            }
+        }
+        return columns;
+    }
+
+    private static MortgageCheckRequest parseCsv(String line, int[] columns) {
+        String[] values = line.split(",", -1);
+        return MortgageCheckRequest.ofCents(
+                Cents.parse(values[columns[0]].trim()),
+                Cents.parse(values[columns[1]].trim()),
+                Cents.parse(values[columns[2]].trim()),
+                Integer.parseInt(values[columns[3]].trim()));
+    }
+
+    private static void fail(Job job, Exception e) {
+        deleteQuietly(job.output);
+        job.error = e.getMessage();
+        job.completedAt = Instant.now();
+        job.state = MortgageJobStatus.State.FAILED;
+        logger.error("Mortgage check job {} failed", job.id, e);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete job file {}", path, e);
+        }
+    }
+
+    private enum Format {
+        CSV,
+        NDJSON;
+
+        static Format of(String fileName, String contentType) {
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv") || type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || type.startsWith("application/x-ndjson")) {
+                return NDJSON;
+            }
+            throw new InvalidJobFileException();
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final String fileName;
+        private final Format format;
+        private final Path input;
+        private final Path output;
+        private final Instant submittedAt = Instant.now();
+        private final AtomicLong itemsRead = new AtomicLong();
+        private final AtomicLong itemsProcessed = new AtomicLong();
+        private final AtomicLong itemsFailed = new AtomicLong();
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private final Lock outputLock = new ReentrantLock();
+        private volatile MortgageJobStatus.State state = MortgageJobStatus.State.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant completedAt;
+        private volatile String error;
+
+        private Job(String id, String fileName, Format format, Path input, Path output) {
+            this.id = id;
+            this.fileName = fileName;
+            this.format = format;
+            this.input = input;
+            this.output = output;
+        }
+
+        private MortgageJobStatus toStatus() {
+            return new MortgageJobStatus(id, state, fileName, itemsRead.get(), itemsProcessed.get(), itemsFailed.get(),
+                    submittedAt, startedAt, completedAt, error);
+        }
+    }
+}
@@ -1,62 +1,252 @@
 package com.bank.mortgage.service;
 
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.cache.QuoteCache;
 import com.bank.mortgage.exception.HomeValueExceededException;
 import com.bank.mortgage.exception.InterestRateNotFoundException;
+import com.bank.mortgage.exception.InvalidMortgageCheckRequestException;
 import com.bank.mortgage.exception.MaxLoanExceededException;
 import com.bank.mortgage.exception.MortgageCalculationException;
-import com.bank.mortgage.model.InterestRate;
+import com.bank.mortgage.exception.ServiceOverloadedException;
+import com.bank.mortgage.limit.AdaptiveConcurrencyLimiter;
+import com.bank.mortgage.logging.RequestLogSampler;
+import com.bank.mortgage.metrics.MortgageMetrics;
 import com.bank.mortgage.model.MortgageCheckRequest;
 import com.bank.mortgage.model.MortgageCheckResponse;
 import com.bank.mortgage.strategy.MortgageCalculatorStrategy;
+import com.bank.mortgage.util.ExceptionMessage;
 import com.bank.mortgage.util.MortgageConstants;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
-@RequiredArgsConstructor
 public class MortgageService {
     private static final Logger logger = LoggerFactory.getLogger(MortgageService.class);
 
+    /**
+     * How an application that breaks the loan limits, or asks for a maturity period that is out of
+     * range or has no rate, is answered.
+     */
+    public enum RejectionMode {
+        /**
+         * Throw {@link MaxLoanExceededException} or {@link HomeValueExceededException}, answered
+         * with 400 and an error body, or {@link InterestRateNotFoundException}, answered with 404.
+         */
+        EXCEPTION,
+        /**
+         * Return a response with {@code isFeasible=false} and a reason code; nothing is thrown.
+         */
+        RESPONSE
+    }
+
     private final InterestRateService interestRateService;
     private final MortgageCalculatorStrategy mortgageCalculator;
+    private final MortgageMetrics mortgageMetrics;
+    private final RequestLogSampler logSampler;
+    private final QuoteCache quoteCache;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RejectionMode rejectionMode;
 
+    public MortgageService(InterestRateService interestRateService,
+                           MortgageCalculatorStrategy mortgageCalculator,
+                           MortgageMetrics mortgageMetrics,
+                           RequestLogSampler logSampler,
+                           QuoteCache quoteCache,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           @Value("${mortgage.check.rejection-mode:exception}") RejectionMode rejectionMode) {
+        this.interestRateService = interestRateService;
+        this.mortgageCalculator = mortgageCalculator;
+        this.mortgageMetrics = mortgageMetrics;
+        this.logSampler = logSampler;
+        this.quoteCache = quoteCache;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.rejectionMode = rejectionMode;
+    }
+
+    /**
+     * Checks a single mortgage application against the current interest rates.
+     * <p>
+     * The outcome is logged as one line of request fields, for the share of checks chosen by the
+     * {@link RequestLogSampler}. If the {@link QuoteCache} is enabled, the monthly cost of an
+     * application identical to an earlier one is taken from it.
+     * <p>
+     * Checks run under the {@link AdaptiveConcurrencyLimiter}: when the limit of checks in flight
+     * is reached, the check is refused at once instead of waiting for the rate lookup.
+     *
+     * @param request Mortgage check request.
+     * @return The mortgage check response; not feasible if the application is rejected and the
+     * rejection mode is {@link RejectionMode#RESPONSE}.
+     * @throws InvalidMortgageCheckRequestException if an amount is not greater than 0.
+     * @throws ServiceOverloadedException          if too many checks are in flight.
+     */
     public MortgageCheckResponse calculateMortgage(MortgageCheckRequest request) {
+        validate(request);
+        if (!concurrencyLimiter.tryAcquire()) {
+            throw new ServiceOverloadedException(concurrencyLimiter.getRetryAfter());
+        }
+        long start = System.nanoTime();
+        boolean failed = false;
         try {
-            logger.info("Calculating mortgage for request: {}", request);
-
-            validateLoanValue(request);
+            return check(request, start);
+        } catch (MortgageCalculationException e) {
+            failed = true;
+            throw e;
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start, failed);
+        }
+    }
 
-            InterestRate interestRate = interestRateService.getInterestRate(request.getMaturityPeriod());
-            double monthlyCost = mortgageCalculator.calculateMonthlyCost(
-                    request.getLoanValue(),
-                    interestRate.getInterestRate(),
-                    request.getMaturityPeriod()
-            );
+    private MortgageCheckResponse check(MortgageCheckRequest request, long start) {
+        ExceptionMessage rejection = rejectionReason(request);
+        if (rejection != null) {
+            logRejected(request, rejection);
+            mortgageMetrics.recordCheck(MortgageMetrics.Outcome.REJECTED, System.nanoTime() - start);
+            return reject(rejection);
+        }
+        try {
+            double monthlyCost = quoteCache.isEnabled()
+                    ? quoteCache.monthlyCost(interestRateService.getRateSnapshot(), request, this::price)
+                    : price(request);
+            long end = System.nanoTime();
             MortgageCheckResponse response = new MortgageCheckResponse();
             response.setFeasible(true);
             response.setMonthlyCost(monthlyCost);
 
-            logger.info("Mortgage calculated successfully for request: {}", request);
+            mortgageMetrics.recordCheck(MortgageMetrics.Outcome.ACCEPTED, end - start);
+            if (logSampler.sample(MortgageMetrics.Outcome.ACCEPTED)) {
+                logger.info("Mortgage check outcome=accepted maturityPeriod={} loanValue={} income={} homeValue={} monthlyCost={}",
+                        request.getMaturityPeriod(), request.getLoanValue(), request.getIncome(), request.getHomeValue(), monthlyCost);
+            }
             return response;
+        } catch (InterestRateNotFoundException e) {
+            // a period in range that the rate curve cannot price
+            mortgageMetrics.recordCheck(MortgageMetrics.Outcome.REJECTED, System.nanoTime() - start);
+            logRejected(request, ExceptionMessage.INTEREST_RATE_NOT_FOUND);
+            return reject(ExceptionMessage.INTEREST_RATE_NOT_FOUND);
+        } catch (Exception e) {
+            mortgageMetrics.recordCheck(MortgageMetrics.Outcome.ERROR, System.nanoTime() - start);
+            if (logSampler.sample(MortgageMetrics.Outcome.ERROR)) {
+                logger.error("Mortgage check outcome=error maturityPeriod={} loanValue={} income={} homeValue={}",
+                        request.getMaturityPeriod(), request.getLoanValue(), request.getIncome(), request.getHomeValue(), e);
+            }
+            throw new MortgageCalculationException(e);
+        }
+    }
+
+    /**
+     * Prices an accepted application at the current rate, timing both stages for a sample of checks.
+     */
+    private double price(MortgageCheckRequest request) {
+        boolean timeStages = mortgageMetrics.sampleStages();
+        long lookupStart = timeStages ? System.nanoTime() : 0L;
+        double interestRate = interestRateService.getRate(request.getMaturityPeriod());
+        long calculationStart = timeStages ? System.nanoTime() : 0L;
+        double monthlyCost = mortgageCalculator.calculateMonthlyCost(
+                request.getLoanValue(),
+                interestRate,
+                request.getMaturityPeriod()
+        );
+        if (timeStages) {
+            long end = System.nanoTime();
+            mortgageMetrics.recordRateLookup(calculationStart - lookupStart);
+            mortgageMetrics.recordCalculation(end - calculationStart);
+        }
+        return monthlyCost;
+    }
+
+    private void logRejected(MortgageCheckRequest request, ExceptionMessage reason) {
+        if (logSampler.sample(MortgageMetrics.Outcome.REJECTED)) {
+            logger.info("Mortgage check outcome=rejected reason={} maturityPeriod={} loanValue={} income={} homeValue={}",
+                    reason, request.getMaturityPeriod(), request.getLoanValue(), request.getIncome(), request.getHomeValue());
+        }
+    }
+
+    /**
+     * Checks one application of a batch. Rates are read from the given snapshot, so every item of a
+     * batch is priced against the same rate set and no item pays for a rate lookup of its own.
+     * Nothing is logged per item; callers report failures per item instead.
+     *
+     * @param request Mortgage check request.
+     * @param rates   Interest rate snapshot shared by the whole batch.
+     * @return The mortgage check response.
+     * @throws InvalidMortgageCheckRequestException if an amount is not greater than 0.
+     */
+    public MortgageCheckResponse calculateMortgage(MortgageCheckRequest request, InterestRateSnapshot rates) {
+        validate(request);
+        try {
+            ExceptionMessage rejection = rejectionReason(request);
+            if (rejection != null) {
+                return reject(rejection);
+            }
+
+            double interestRate = rates.rate(request.getMaturityPeriod());
+            if (Double.isNaN(interestRate)) {
+                return reject(ExceptionMessage.INTEREST_RATE_NOT_FOUND);
+            }
+            double monthlyCost = mortgageCalculator.calculateMonthlyCost(
+                    request.getLoanValue(),
+                    interestRate,
+                    request.getMaturityPeriod()
+            );
+            return new MortgageCheckResponse(true, monthlyCost);
         } catch (MaxLoanExceededException | HomeValueExceededException | InterestRateNotFoundException e) {
             throw e;
         } catch (Exception e) {
-            logger.error("Error calculating mortgage for request: {}", request, e);
             throw new MortgageCalculationException(e);
         }
     }
 
-    private void validateLoanValue(MortgageCheckRequest request) {
-        double maxLoan = request.getIncome() * MortgageConstants.MAX_LOAN_MULTIPLIER;
-        if (request.getLoanValue() > maxLoan) {
-            logger.info("Loan value exceeds maximum loan limit for request: {}", request);
-            throw new MaxLoanExceededException();
+    /**
+     * Refuses amounts that are zero or negative. This is a malformed request rather than a
+     * rejection, so it is thrown in either {@link RejectionMode}.
+     */
+    private static void validate(MortgageCheckRequest request) {
+        if (request.getIncomeCents() <= 0 || request.getLoanValueCents() <= 0 || request.getHomeValueCents() <= 0) {
+            throw new InvalidMortgageCheckRequestException();
+        }
+    }
+
+    /**
+     * Checks the maturity period and the loan against the income and home value limits without
+     * throwing. Amounts are compared in whole cents, so a loan of exactly the limit is never
+     * rejected by a rounding error.
+     * <p>
+     * A maturity period below one year or above {@link MortgageConstants#MAX_MATURITY_PERIOD} has no
+     * rate, even though the interpolated rate curve would return the rate of its nearest end.
+     *
+     * @return The reason the application is rejected, or {@code null} if it can be priced.
+     */
+    private static ExceptionMessage rejectionReason(MortgageCheckRequest request) {
+        if (request.getMaturityPeriod() < 1 || request.getMaturityPeriod() > MortgageConstants.MAX_MATURITY_PERIOD) {
+            return ExceptionMessage.INTEREST_RATE_NOT_FOUND;
         }
-        if (request.getLoanValue() > request.getHomeValue()) {
-            logger.info("Loan value exceeds home value for request: {}", request);
-            throw new HomeValueExceededException();
+        long incomeCents = request.getIncomeCents();
+        long maxLoanCents = incomeCents > Long.MAX_VALUE / MortgageConstants.MAX_LOAN_MULTIPLIER
+                ? Long.MAX_VALUE
+                : incomeCents * MortgageConstants.MAX_LOAN_MULTIPLIER;
+        if (request.getLoanValueCents() > maxLoanCents) {
+            return ExceptionMessage.MAX_LOAN_EXCEEDED;
+        }
+        if (request.getLoanValueCents() > request.getHomeValueCents()) {
+            return ExceptionMessage.HOME_VALUE_EXCEEDED;
+        }
+        return null;
+    }
+
+    private MortgageCheckResponse reject(ExceptionMessage reason) {
+        if (rejectionMode == RejectionMode.EXCEPTION) {
+            switch (reason) {
+                case MAX_LOAN_EXCEEDED:
+                    throw new MaxLoanExceededException();
+                case HOME_VALUE_EXCEEDED:
+                    throw new HomeValueExceededException();
+                default:
+                    throw new InterestRateNotFoundException(reason.getMessage());
+            }
         }
+        mortgageMetrics.rejected(reason);
+        return MortgageCheckResponse.rejected(reason);
     }
 }
@@ -0,0 +1,17 @@
+package com.bank.mortgage.strategy;
+
+/**
+ * Receives the rows of an amortization schedule as they are generated. Values are passed as
+ * primitives so that generating a schedule allocates nothing per row.
+ */
+@FunctionalInterface
+public interface AmortizationRowConsumer {
+    /**
+     * @param period           One-based payment number.
+     * @param payment          Amount paid in the period.
+     * @param interest         Interest part of the payment.
+     * @param principal        Principal part of the payment.
+     * @param remainingBalance Loan balance after the payment.
+     */
+    void accept(int period, double payment, double interest, double principal, double remainingBalance);
+}
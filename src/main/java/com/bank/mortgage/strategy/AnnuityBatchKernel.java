@@ -0,0 +1,9 @@
+package com.bank.mortgage.strategy;
+
+/**
+ * Computes monthly costs over primitive columns of loans: the cost of loan {@code i} is written to
+ * {@code monthlyCosts[i]}. All arrays must have the same length.
+ */
+interface AnnuityBatchKernel {
+    void calculate(double[] loanValues, double[] interestRates, int[] maturityPeriods, double[] monthlyCosts);
+}
\ No newline at end of file
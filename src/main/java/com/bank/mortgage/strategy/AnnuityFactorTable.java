@@ -0,0 +1,60 @@
+package com.bank.mortgage.strategy;
+
+import com.bank.mortgage.model.InterestRate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable table of annuity factors for the (interest rate, maturity period) pairs of the rate
+ * table. The monthly cost of a loan is the loan value times its annuity factor, so a quote at a
+ * tabulated pair costs one multiplication instead of a {@code Math.pow}.
+ * <p>
+ * Entries are looked up by maturity period and only used when the interest rate matches exactly,
+ * which keeps a stale table correct: it merely falls back to the full formula.
+ */
+final class AnnuityFactorTable {
+
+    static final AnnuityFactorTable EMPTY = new AnnuityFactorTable(new int[0], new double[0], new double[0]);
+
+    private final int[] maturityPeriods;
+    private final double[] interestRates;
+    private final double[] factors;
+
+    private AnnuityFactorTable(int[] maturityPeriods, double[] interestRates, double[] factors) {
+        this.maturityPeriods = maturityPeriods;
+        this.interestRates = interestRates;
+        this.factors = factors;
+    }
+
+    /**
+     * @param rates Rates ordered by maturity period, with at most one rate per period.
+     */
+    static AnnuityFactorTable of(List<InterestRate> rates) {
+        int[] maturityPeriods = new int[rates.size()];
+        double[] interestRates = new double[rates.size()];
+        double[] factors = new double[rates.size()];
+        for (int i = 0; i < rates.size(); i++) {
+            InterestRate rate = rates.get(i);
+            maturityPeriods[i] = rate.getMaturityPeriod();
+            interestRates[i] = rate.getInterestRate();
+            factors[i] = StandardMortgageCalculator.annuityFactor(rate.getInterestRate(), rate.getMaturityPeriod());
+        }
+        return new AnnuityFactorTable(maturityPeriods, interestRates, factors);
+    }
+
+    /**
+     * @return The annuity factor, or {@code NaN} if the pair is not tabulated.
+     */
+    double find(double interestRate, int maturityPeriod) {
+        int index = Arrays.binarySearch(maturityPeriods, maturityPeriod);
+        if (index >= 0 && interestRates[index] == interestRate) {
+            return factors[index];
+        }
+        return Double.NaN;
+    }
+
+    int size() {
+        return maturityPeriods.length;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,36 @@
 package com.bank.mortgage.strategy;
 
+import com.bank.mortgage.model.AmortizationSummary;
+
 public interface MortgageCalculatorStrategy {
     double calculateMonthlyCost(double loanValue, double interestRate, int maturityPeriod);
+
+    /**
+     * Generates the monthly amortization schedule of a loan, handing each period to the consumer
+     * as soon as it is computed. No rows are retained.
+     */
+    void generateSchedule(double loanValue, double interestRate, int maturityPeriod, AmortizationRowConsumer consumer);
+
+    /**
+     * Computes the totals of the amortization schedule in closed form, without generating it.
+     */
+    AmortizationSummary summarizeSchedule(double loanValue, double interestRate, int maturityPeriod);
+
+    /**
+     * Calculates the monthly costs of many loans held in parallel primitive columns. The cost of
+     * loan {@code i} is written to {@code monthlyCosts[i]}; all arrays must have the same length.
+     */
+    default void calculateMonthlyCosts(double[] loanValues, double[] interestRates, int[] maturityPeriods, double[] monthlyCosts) {
+        checkColumns(loanValues, interestRates, maturityPeriods, monthlyCosts);
+        for (int i = 0; i < loanValues.length; i++) {
+            monthlyCosts[i] = calculateMonthlyCost(loanValues[i], interestRates[i], maturityPeriods[i]);
+        }
+    }
+
+    static void checkColumns(double[] loanValues, double[] interestRates, int[] maturityPeriods, double[] monthlyCosts) {
+        int length = loanValues.length;
+        if (interestRates.length != length || maturityPeriods.length != length || monthlyCosts.length != length) {
+            throw new IllegalArgumentException("Loan columns must all have the same length.");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.bank.mortgage.strategy;
+
+/**
+ * Batch kernel that evaluates the annuity formula one loan at a time. Used when the Vector API
+ * is not available.
+ */
+final class ScalarAnnuityBatchKernel implements AnnuityBatchKernel {
+
+    @Override
+    public void calculate(double[] loanValues, double[] interestRates, int[] maturityPeriods, double[] monthlyCosts) {
+        for (int i = 0; i < loanValues.length; i++) {
+            monthlyCosts[i] = loanValues[i] * StandardMortgageCalculator.annuityFactor(interestRates[i], maturityPeriods[i]);
+        }
+    }
+}
\ No newline at end of file
@@ -1,15 +1,107 @@
 package com.bank.mortgage.strategy;
 
+import com.bank.mortgage.cache.InterestRatesRefreshedEvent;
+import com.bank.mortgage.model.AmortizationSummary;
 import com.bank.mortgage.util.MortgageConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 @Component
 public class StandardMortgageCalculator implements MortgageCalculatorStrategy {
+    private static final Logger logger = LoggerFactory.getLogger(StandardMortgageCalculator.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private final AnnuityBatchKernel batchKernel = loadBatchKernel();
+
+    private volatile AnnuityFactorTable annuityFactors = AnnuityFactorTable.EMPTY;
 
     @Override
     public double calculateMonthlyCost(double loanValue, double interestRate, int maturityPeriod) {
-        double monthlyRate = interestRate / 100 / MortgageConstants.MONTHS_IN_YEAR;
-        double numberOfPayments = maturityPeriod * MortgageConstants.MONTHS_IN_YEAR;
-        return loanValue * monthlyRate / (1 - Math.pow(1 + monthlyRate, -numberOfPayments));
+        return loanValue * lookupAnnuityFactor(interestRate, maturityPeriod);
+    }
+
+    @Override
+    public void generateSchedule(double loanValue, double interestRate, int maturityPeriod, AmortizationRowConsumer consumer) {
+        double monthlyRate = monthlyRate(interestRate);
+        int numberOfPayments = maturityPeriod * MortgageConstants.MONTHS_IN_YEAR;
+        double payment = loanValue * lookupAnnuityFactor(interestRate, maturityPeriod);
+        double balance = loanValue;
+        for (int period = 1; period <= numberOfPayments; period++) {
+            double interest = balance * monthlyRate;
+            // the last payment settles whatever floating-point drift is left on the balance
+            double principal = period == numberOfPayments ? balance : payment - interest;
+            balance -= principal;
+            consumer.accept(period, interest + principal, interest, principal, balance);
+        }
+    }
+
+    @Override
+    public AmortizationSummary summarizeSchedule(double loanValue, double interestRate, int maturityPeriod) {
+        int numberOfPayments = maturityPeriod * MortgageConstants.MONTHS_IN_YEAR;
+        double payment = loanValue * lookupAnnuityFactor(interestRate, maturityPeriod);
+        double totalPaid = payment * numberOfPayments;
+        return new AmortizationSummary(payment, numberOfPayments, totalPaid, totalPaid - loanValue);
+    }
+
+    /**
+     * Calculates the monthly costs of many loans with the vectorized kernel when the JVM was started
+     * with {@code --add-modules jdk.incubator.vector}, and with a scalar loop otherwise.
+     */
+    @Override
+    public void calculateMonthlyCosts(double[] loanValues, double[] interestRates, int[] maturityPeriods, double[] monthlyCosts) {
+        MortgageCalculatorStrategy.checkColumns(loanValues, interestRates, maturityPeriods, monthlyCosts);
+        batchKernel.calculate(loanValues, interestRates, maturityPeriods, monthlyCosts);
+    }
+
+    /**
+     * Rebuilds the annuity factor table from the new rates.
+     */
+    @EventListener
+    public void onInterestRatesRefreshed(InterestRatesRefreshedEvent event) {
+        annuityFactors = AnnuityFactorTable.of(event.getSnapshot().getRates());
+    }
+
+    /**
+     * Monthly payment per unit of loan: {@code r / (1 - (1 + r)^-n)} for monthly rate {@code r}
+     * and {@code n} monthly payments, or {@code 1 / n} without interest.
+     */
+    static double annuityFactor(double interestRate, int maturityPeriod) {
+        double monthlyRate = monthlyRate(interestRate);
+        int numberOfPayments = maturityPeriod * MortgageConstants.MONTHS_IN_YEAR;
+        if (monthlyRate == 0) {
+            return 1.0 / numberOfPayments;
+        }
+        return monthlyRate / (1 - Math.pow(1 + monthlyRate, -numberOfPayments));
+    }
+
+    private double lookupAnnuityFactor(double interestRate, int maturityPeriod) {
+        double factor = annuityFactors.find(interestRate, maturityPeriod);
+        return Double.isNaN(factor) ? annuityFactor(interestRate, maturityPeriod) : factor;
+    }
+
+    /**
+     * Picks the vectorized batch kernel if the Vector API module is present. The kernel is loaded
+     * by name so that its class, which links against the module, is never resolved without it.
+     */
+    static AnnuityBatchKernel loadBatchKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                AnnuityBatchKernel kernel = (AnnuityBatchKernel) Class.forName(StandardMortgageCalculator.class.getPackage().getName() + ".VectorAnnuityBatchKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+                logger.info("Using vectorized batch kernel");
+                return kernel;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                logger.warn("Vectorized batch kernel unavailable, using scalar kernel", e);
+            }
+        }
+        return new ScalarAnnuityBatchKernel();
+    }
+
+    private static double monthlyRate(double interestRate) {
+        return interestRate / 100 / MortgageConstants.MONTHS_IN_YEAR;
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.bank.mortgage.strategy;
+
+import com.bank.mortgage.util.MortgageConstants;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Batch kernel that evaluates the annuity formula over as many loans per instruction as the
+ * preferred vector shape of the CPU holds, using the incubating Vector API. Only loaded when the
+ * {@code jdk.incubator.vector} module is present; see {@link StandardMortgageCalculator}.
+ */
+final class VectorAnnuityBatchKernel implements AnnuityBatchKernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // maturity periods are widened from int lanes to double lanes, so the int species is half as wide
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    @Override
+    public void calculate(double[] loanValues, double[] interestRates, int[] maturityPeriods, double[] monthlyCosts) {
+        int length = loanValues.length;
+        int upperBound = DOUBLES.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += DOUBLES.length()) {
+            DoubleVector loanValue = DoubleVector.fromArray(DOUBLES, loanValues, i);
+            DoubleVector monthlyRate = DoubleVector.fromArray(DOUBLES, interestRates, i)
+                    .div(100)
+                    .div(MortgageConstants.MONTHS_IN_YEAR);
+            DoubleVector numberOfPayments = ((DoubleVector) IntVector.fromArray(INTS, maturityPeriods, i)
+                    .convertShape(VectorOperators.I2D, DOUBLES, 0))
+                    .mul(MortgageConstants.MONTHS_IN_YEAR);
+
+            DoubleVector discount = monthlyRate.add(1).lanewise(VectorOperators.POW, numberOfPayments.neg());
+            DoubleVector monthlyCost = loanValue.mul(monthlyRate).div(discount.neg().add(1));
+            VectorMask<Double> noInterest = monthlyRate.eq(0);
+            monthlyCost.blend(loanValue.div(numberOfPayments), noInterest).intoArray(monthlyCosts, i);
+        }
+        for (; i < length; i++) {
+            monthlyCosts[i] = loanValues[i] * StandardMortgageCalculator.annuityFactor(interestRates[i], maturityPeriods[i]);
+        }
+    }
+
+    static int lanes() {
+        return DOUBLES.length();
+    }
+}
\ No newline at end of file
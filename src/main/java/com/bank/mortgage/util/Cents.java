@@ -0,0 +1,111 @@
+package com.bank.mortgage.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Converts money amounts between decimal notation and whole cents held in a {@code long}, so
+ * amounts can be compared exactly. Amounts with more than two decimals are rounded half up.
+ */
+public final class Cents {
+
+    /**
+     * Returned by {@link #parse(char[], int, int)} for text it does not handle.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    // whole units that always fit in a long of cents, with room to multiply by the loan multiplier
+    private static final int MAX_INTEGER_DIGITS = 16;
+    // below this, adjacent doubles are well under a cent apart, so a whole number of cents is recognised exactly
+    private static final double EXACT_DOUBLE_LIMIT = 1e13;
+
+    private Cents() {
+    }
+
+    /**
+     * Parses a plain decimal number such as {@code 250000}, {@code -12.5} or {@code 0.125} into
+     * cents without allocating.
+     *
+     * @return The amount in cents, or {@link #INVALID} if the text is not a plain decimal number
+     * (for example one with an exponent) or has more than 16 integer digits.
+     */
+    public static long parse(char[] text, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (i < end && (text[i] == '-' || text[i] == '+')) {
+            negative = text[i] == '-';
+            i++;
+        }
+        long units = 0;
+        int integerDigits = 0;
+        while (i < end && text[i] >= '0' && text[i] <= '9') {
+            if (++integerDigits > MAX_INTEGER_DIGITS) {
+                return INVALID;
+            }
+            units = units * 10 + (text[i++] - '0');
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (i < end && text[i] == '.') {
+            i++;
+            while (i < end && text[i] >= '0' && text[i] <= '9') {
+                if (fractionDigits < 2) {
+                    fraction = fraction * 10 + (text[i] - '0');
+                } else if (fractionDigits == 2) {
+                    roundUp = text[i] >= '5';
+                }
+                fractionDigits++;
+                i++;
+            }
+        }
+        if (i != end || integerDigits + fractionDigits == 0) {
+            return INVALID;
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+        long cents = units * 100 + fraction + (roundUp ? 1 : 0);
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Parses a decimal number into cents.
+     *
+     * @throws NumberFormatException if the text is not a number.
+     * @throws ArithmeticException   if the amount does not fit in a {@code long} of cents.
+     */
+    public static long parse(String text) {
+        long cents = parse(text.toCharArray(), 0, text.length());
+        return cents != INVALID ? cents : of(new BigDecimal(text));
+    }
+
+    /**
+     * @throws ArithmeticException if the amount does not fit in a {@code long} of cents.
+     */
+    public static long of(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts an amount to cents as written in its shortest decimal form, so {@code 0.29} is 29
+     * cents even though the double is slightly below it.
+     *
+     * @throws NumberFormatException if the amount is NaN or infinite.
+     * @throws ArithmeticException   if the amount does not fit in a {@code long} of cents.
+     */
+    public static long of(double amount) {
+        if (Math.abs(amount) < EXACT_DOUBLE_LIMIT) {
+            long cents = Math.round(amount * 100);
+            if (cents / 100.0 == amount) {
+                return cents;
+            }
+        }
+        return of(BigDecimal.valueOf(amount));
+    }
+
+    public static double toDouble(long cents) {
+        return cents / 100.0;
+    }
+}
@@ -8,7 +8,17 @@ public enum ExceptionMessage {
     HOME_VALUE_EXCEEDED("Loan value exceeds home value."),
     INTEREST_RATE_NOT_FOUND("No interest rate found for the given maturity period."),
     MORTGAGE_CALCULATION_ERROR("An error occurred while calculating the mortgage."),
-    INTEREST_RATE_FETCH_ERROR("An error occurred while fetching interest rates.");
+    INTEREST_RATE_FETCH_ERROR("An error occurred while fetching interest rates."),
+    INVALID_BATCH_REQUEST("Batch request must be a JSON array or NDJSON stream of mortgage check requests."),
+    INVALID_BATCH_ITEM("Batch item is not a valid mortgage check request."),
+    INVALID_JOB_FILE("Job file must be a CSV or NDJSON file of mortgage check requests."),
+    JOB_NOT_FOUND("No mortgage check job found for the given id."),
+    JOB_NOT_COMPLETED("Mortgage check job has not completed yet."),
+    INVALID_AMORTIZATION_REQUEST("Loan value must be greater than 0 and maturity period between 1 and 100 years."),
+    INVALID_RATE_SHEET("Rate sheet must list each maturity period at most once, with a maturity period greater than 0 and an interest rate of at least 0."),
+    SERVICE_OVERLOADED("Too many mortgage checks are in progress; retry later."),
+    INVALID_REQUEST_BODY("Request body is missing, malformed or lacks a required field."),
+    INVALID_MORTGAGE_CHECK_REQUEST("Income, loan value and home value must be greater than 0.");
 
     private final String message;
 
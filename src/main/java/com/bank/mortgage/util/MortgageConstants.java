@@ -1,6 +1,11 @@
 package com.bank.mortgage.util;
 
 public class MortgageConstants {
-    public static final double MAX_LOAN_MULTIPLIER = 4.0;
+    public static final int MAX_LOAN_MULTIPLIER = 4;
     public static final int MONTHS_IN_YEAR = 12;
+    /**
+     * Longest maturity period priced, in years. The rate curve extends flat past its last listed
+     * period, so longer terms are refused before the lookup rather than priced.
+     */
+    public static final int MAX_MATURITY_PERIOD = 100;
 }
@@ -13,6 +13,12 @@ CREATE TABLE IF NOT EXISTS interest_rate
     TIMESTAMP
 );
 
+-- one row per maturity period, so concurrent rate sheets cannot insert the same period twice
+CREATE UNIQUE INDEX IF NOT EXISTS uq_interest_rate_maturity_period ON interest_rate (maturity_period);
+
+-- rate refreshers poll for rows updated after their watermark
+CREATE INDEX IF NOT EXISTS idx_interest_rate_last_update ON interest_rate (last_update);
+
 INSERT INTO interest_rate (id, maturity_period, interest_rate, last_update)
 VALUES ('d1e2f3a4-5678-4cde-abcd-12345678abcd', 10, 5.0, '2025-03-03 12:00:00'),
        ('e3f4a5b6-7890-5cde-cdef-23456789bcde', 20, 6.0, '2025-03-03 12:00:00');
@@ -0,0 +1,66 @@
+package com.bank.mortgage.cache;
+
+import com.bank.mortgage.cache.EncodedRateListing.Coding;
+import com.bank.mortgage.model.InterestRateResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedRateListingTest {
+
+    private static final Timestamp UPDATED = Timestamp.valueOf("2025-03-03 12:00:00");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encode_ShouldProduceSameJsonInEveryCoding() throws IOException {
+        List<InterestRateResponse> rates = List.of(new InterestRateResponse(10, 5.0, UPDATED), new InterestRateResponse(20, 6.0, UPDATED));
+        EncodedRateListing listing = EncodedRateListing.encode(rates, objectMapper);
+
+        byte[] json = listing.bytes(Coding.IDENTITY);
+        assertArrayEquals(objectMapper.writeValueAsBytes(rates), json);
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(listing.bytes(Coding.GZIP)));
+             InputStream deflate = new InflaterInputStream(new ByteArrayInputStream(listing.bytes(Coding.DEFLATE)))) {
+            assertArrayEquals(json, gzip.readAllBytes());
+            assertArrayEquals(json, deflate.readAllBytes());
+        }
+        assertEquals(UPDATED, listing.getLatestUpdate());
+        assertEquals(InterestRateSnapshot.versionOf(rates), listing.getVersion());
+    }
+
+    @Test
+    void reuseFor_ShouldOnlyEncodeAgainWhenRatesChange() {
+        List<InterestRateResponse> rates = List.of(new InterestRateResponse(10, 5.0, UPDATED));
+        EncodedRateListing listing = EncodedRateListing.encode(rates, objectMapper);
+
+        assertSame(listing, listing.reuseFor(rates, objectMapper));
+        assertSame(listing.bytes(Coding.GZIP), listing.reuseFor(new ArrayList<>(rates), objectMapper).bytes(Coding.GZIP));
+
+        EncodedRateListing changed = listing.reuseFor(List.of(new InterestRateResponse(10, 4.5, UPDATED)), objectMapper);
+        assertNotEquals(listing.getVersion(), changed.getVersion());
+        assertNotSame(listing.bytes(Coding.IDENTITY), changed.bytes(Coding.IDENTITY));
+    }
+
+    @Test
+    void negotiate_ShouldPreferGzipAndHonourRefusals() {
+        assertEquals(Coding.IDENTITY, EncodedRateListing.negotiate(null));
+        assertEquals(Coding.IDENTITY, EncodedRateListing.negotiate("br"));
+        assertEquals(Coding.GZIP, EncodedRateListing.negotiate("deflate, gzip;q=0.5, br"));
+        assertEquals(Coding.DEFLATE, EncodedRateListing.negotiate("gzip;q=0, deflate"));
+        assertEquals(Coding.GZIP, EncodedRateListing.negotiate("*"));
+        assertEquals(Coding.DEFLATE, EncodedRateListing.negotiate("gzip;q=0, *"));
+        assertEquals(Coding.IDENTITY, EncodedRateListing.negotiate("*, gzip;q=0, deflate;q=0"));
+        assertEquals(Coding.IDENTITY, EncodedRateListing.negotiate("*;q=0"));
+        assertEquals(Coding.IDENTITY, EncodedRateListing.negotiate("gzip;q=0.0, deflate; q=0"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.bank.mortgage.cache;
+
+import com.bank.mortgage.cache.InterestRateCurve.Lookup;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestRateCurveTest {
+
+    private static final int[] MATURITY_PERIODS = {10, 20, 30};
+    private static final double[] RATES = {3.0, 4.0, 5.0};
+
+    @Test
+    void whenMaturityPeriodIsListed_thenEveryLookupReturnsItsRate() {
+        for (Lookup lookup : Lookup.values()) {
+            InterestRateCurve curve = new InterestRateCurve(MATURITY_PERIODS, RATES, lookup);
+            assertEquals(3.0, curve.rate(10));
+            assertEquals(4.0, curve.rate(20));
+            assertEquals(5.0, curve.rate(30));
+        }
+    }
+
+    @Test
+    void whenLookupIsExact_thenUnlistedMaturityPeriodIsNotPriced() {
+        InterestRateCurve curve = new InterestRateCurve(MATURITY_PERIODS, RATES, Lookup.EXACT);
+
+        assertTrue(Double.isNaN(curve.rate(15)));
+        assertTrue(Double.isNaN(curve.rate(40)));
+    }
+
+    @Test
+    void whenLookupIsFloor_thenUsesLongestShorterPeriod() {
+        InterestRateCurve curve = new InterestRateCurve(MATURITY_PERIODS, RATES, Lookup.FLOOR);
+
+        assertEquals(3.0, curve.rate(19));
+        assertEquals(5.0, curve.rate(40));
+        assertTrue(Double.isNaN(curve.rate(5)));
+    }
+
+    @Test
+    void whenLookupIsNearest_thenUsesClosestPeriodAndShorterOnTie() {
+        InterestRateCurve curve = new InterestRateCurve(MATURITY_PERIODS, RATES, Lookup.NEAREST);
+
+        assertEquals(3.0, curve.rate(14));
+        assertEquals(3.0, curve.rate(15));
+        assertEquals(4.0, curve.rate(16));
+        assertEquals(3.0, curve.rate(1));
+        assertEquals(5.0, curve.rate(40));
+    }
+
+    @Test
+    void whenLookupIsInterpolated_thenInterpolatesLinearlyAndIsFlatBeyondEnds() {
+        InterestRateCurve curve = new InterestRateCurve(MATURITY_PERIODS, RATES, Lookup.INTERPOLATED);
+
+        assertEquals(3.5, curve.rate(15), 1e-12);
+        assertEquals(4.8, curve.rate(28), 1e-12);
+        assertEquals(3.0, curve.rate(1));
+        assertEquals(5.0, curve.rate(40));
+    }
+
+    @Test
+    void whenCurveIsEmpty_thenNothingIsPriced() {
+        InterestRateCurve curve = new InterestRateCurve(new int[0], new double[0], Lookup.INTERPOLATED);
+
+        assertTrue(Double.isNaN(curve.rate(20)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.bank.mortgage.cache;
+
+import com.bank.mortgage.model.InterestRate;
+import com.bank.mortgage.model.InterestRateResponse;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestRateSnapshotTest {
+
+    private static final Timestamp UPDATED = Timestamp.valueOf("2025-03-03 12:00:00");
+
+    @Test
+    void versionOf_ShouldMatchSnapshotVersionRegardlessOfOrder() {
+        InterestRateSnapshot snapshot = InterestRateSnapshot.of(List.of(rate(10, 5.0), rate(20, 6.0)));
+
+        long version = InterestRateSnapshot.versionOf(List.of(
+                new InterestRateResponse(20, 6.0, UPDATED),
+                new InterestRateResponse(10, 5.0, UPDATED)));
+
+        assertEquals(snapshot.getVersion(), version);
+    }
+
+    @Test
+    void version_ShouldChangeWithAnyRate() {
+        long version = InterestRateSnapshot.of(List.of(rate(10, 5.0), rate(20, 6.0))).getVersion();
+
+        assertNotEquals(version, InterestRateSnapshot.of(List.of(rate(10, 5.0), rate(20, 6.1))).getVersion());
+        assertNotEquals(version, InterestRateSnapshot.of(List.of(rate(10, 6.0), rate(20, 5.0))).getVersion());
+        assertNotEquals(version, InterestRateSnapshot.of(List.of(rate(10, 5.0))).getVersion());
+    }
+
+    @Test
+    void withUpdates_ShouldMergeNewerRowsAndKeepUnchangedSnapshot() {
+        InterestRate ten = rate(10, 5.0);
+        InterestRateSnapshot snapshot = InterestRateSnapshot.of(List.of(ten, rate(20, 6.0)));
+
+        assertSame(snapshot, snapshot.withUpdates(List.of(ten)));
+
+        Timestamp later = new Timestamp(UPDATED.getTime() + 1000);
+        InterestRateSnapshot merged = snapshot.withUpdates(List.of(
+                new InterestRate(UUID.randomUUID(), 20, 6.5, later),
+                new InterestRate(UUID.randomUUID(), 10, 4.0, new Timestamp(UPDATED.getTime() - 1000))));
+
+        assertEquals(5.0, merged.rate(10));
+        assertEquals(6.5, merged.rate(20));
+        assertEquals(later, merged.getLatestUpdate());
+        assertSame(snapshot.find(10), merged.find(10));
+    }
+
+    private static InterestRate rate(int maturityPeriod, double interestRate) {
+        return new InterestRate(UUID.nameUUIDFromBytes(new byte[]{(byte) maturityPeriod}), maturityPeriod, interestRate, UPDATED);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.bank.mortgage.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingPasswordEncoderTest {
+
+    private static final String HASH = "$2a$10$hash";
+    private static final String OTHER_HASH = "$2a$10$other";
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CachingPasswordEncoder cachingPasswordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cachingPasswordEncoder = new CachingPasswordEncoder(delegate, Duration.ofMinutes(5), 100, nanos::get);
+    }
+
+    @Test
+    void whenCredentialsWereVerified_thenDelegateIsNotCalledAgain() {
+        when(delegate.matches("password", HASH)).thenReturn(true);
+
+        assertTrue(cachingPasswordEncoder.matches("password", HASH));
+        assertTrue(cachingPasswordEncoder.matches("password", HASH));
+
+        verify(delegate, times(1)).matches("password", HASH);
+        assertEquals(1, cachingPasswordEncoder.cachedCredentials());
+    }
+
+    @Test
+    void whenPasswordIsWrong_thenEveryAttemptIsVerifiedByDelegate() {
+        when(delegate.matches("wrong", HASH)).thenReturn(false);
+
+        assertFalse(cachingPasswordEncoder.matches("wrong", HASH));
+        assertFalse(cachingPasswordEncoder.matches("wrong", HASH));
+
+        verify(delegate, times(2)).matches("wrong", HASH);
+        assertEquals(0, cachingPasswordEncoder.cachedCredentials());
+    }
+
+    @Test
+    void whenOtherPasswordIsPresented_thenCachedVerificationDoesNotApply() {
+        when(delegate.matches("password", HASH)).thenReturn(true);
+        when(delegate.matches("password2", HASH)).thenReturn(false);
+
+        assertTrue(cachingPasswordEncoder.matches("password", HASH));
+
+        assertFalse(cachingPasswordEncoder.matches("password2", HASH));
+    }
+
+    @Test
+    void whenStoredHashChanges_thenCachedVerificationDoesNotApply() {
+        when(delegate.matches("password", HASH)).thenReturn(true);
+        when(delegate.matches("password", OTHER_HASH)).thenReturn(false);
+
+        assertTrue(cachingPasswordEncoder.matches("password", HASH));
+
+        assertFalse(cachingPasswordEncoder.matches("password", OTHER_HASH));
+    }
+
+    @Test
+    void whenTimeToLiveHasPassed_thenCredentialsAreVerifiedAgain() {
+        when(delegate.matches("password", HASH)).thenReturn(true);
+        cachingPasswordEncoder.matches("password", HASH);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(5) + 1);
+        cachingPasswordEncoder.matches("password", HASH);
+
+        verify(delegate, times(2)).matches("password", HASH);
+    }
+
+    @Test
+    void whenSameCredentialsAreVerifiedConcurrently_thenDelegateIsCalledOnce() throws Exception {
+        CountDownLatch verifying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.matches("password", HASH)).thenAnswer(invocation -> {
+            verifying.countDown();
+            release.await();
+            return true;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executor.submit(() -> cachingPasswordEncoder.matches("password", HASH));
+            verifying.await();
+            Future<Boolean> second = executor.submit(() -> cachingPasswordEncoder.matches("password", HASH));
+            release.countDown();
+
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).matches("password", HASH);
+    }
+
+    @Test
+    void whenEncoding_thenDelegatesToBCrypt() {
+        CachingPasswordEncoder encoder = new CachingPasswordEncoder(new BCryptPasswordEncoder(4), Duration.ofMinutes(5), 100);
+
+        String encoded = encoder.encode("password");
+
+        assertTrue(encoded.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("password", encoded));
+        assertFalse(encoder.matches("Password", encoded));
+    }
+}
\ No newline at end of file
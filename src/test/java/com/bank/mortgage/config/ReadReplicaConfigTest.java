@@ -0,0 +1,106 @@
+package com.bank.mortgage.config;
+
+import com.bank.mortgage.model.InterestRateResponse;
+import com.bank.mortgage.model.InterestRateUpdate;
+import com.bank.mortgage.service.InterestRateRefresher;
+import com.bank.mortgage.service.InterestRateService;
+import com.bank.mortgage.service.InterestRateSheetService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the application against two in-memory H2 databases standing in for the primary and the
+ * read replica. They are not replicated, so the replica is seeded with a different rate to tell
+ * which database a read was served by.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "mortgage.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "mortgage.datasource.replica.maximum-pool-size=2",
+        "mortgage.rates.refresh.enabled=false"})
+class ReadReplicaConfigTest {
+
+    @Autowired
+    private InterestRateService interestRateService;
+
+    @Autowired
+    private InterestRateSheetService interestRateSheetService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP TABLE IF EXISTS interest_rate");
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(replicaDataSource);
+        replica.update("UPDATE interest_rate SET interest_rate = 4.0 WHERE maturity_period = 10");
+    }
+
+    @Test
+    void whenReadingRates_thenReplicaIsUsed() {
+        interestRateService.refreshRates();
+
+        assertEquals(4.0, interestRateService.getRateSnapshot().rate(10));
+        List<InterestRateResponse> rates = interestRateService.getAllInterestRates();
+        assertTrue(rates.stream().anyMatch(rate -> rate.getMaturityPeriod() == 10 && rate.getInterestRate() == 4.0));
+        assertEquals(5.0, primary.queryForObject(
+                "SELECT interest_rate FROM interest_rate WHERE maturity_period = 10", Double.class));
+    }
+
+    @Test
+    void whenApplyingRateSheet_thenPrimaryIsWrittenAndReadBack() {
+        interestRateSheetService.upsertRates(List.of(new InterestRateUpdate(35, 7.0)));
+
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM interest_rate WHERE maturity_period = 35", Integer.class));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM interest_rate WHERE maturity_period = 35", Integer.class));
+        // the replica has not caught up, so the snapshot must have been reloaded from the primary
+        assertEquals(7.0, interestRateService.getRateSnapshot().rate(35));
+    }
+
+    @Test
+    void whenRefresherPolls_thenPrimaryIsRead() {
+        interestRateService.refreshRates();
+        primary.update("UPDATE interest_rate SET interest_rate = 6.25, last_update = CURRENT_TIMESTAMP WHERE maturity_period = 20");
+
+        new InterestRateRefresher(interestRateService, transactionTemplate, Duration.ofSeconds(10), Duration.ofHours(1)).refresh();
+
+        // the replica still has 6.0, so the change can only have come from the primary
+        assertEquals(6.25, interestRateService.getRateSnapshot().rate(20));
+    }
+
+    @Test
+    void poolsAreSizedSeparately() {
+        assertEquals("primary", primaryDataSource.getPoolName());
+        assertEquals(4, primaryDataSource.getMaximumPoolSize());
+        assertEquals("replica", replicaDataSource.getPoolName());
+        assertEquals(2, replicaDataSource.getMaximumPoolSize());
+    }
+}
\ No newline at end of file
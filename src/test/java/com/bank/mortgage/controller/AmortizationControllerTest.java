@@ -0,0 +1,101 @@
+package com.bank.mortgage.controller;
+
+import com.bank.mortgage.exception.InvalidAmortizationRequestException;
+import com.bank.mortgage.metrics.MortgageMetrics;
+import com.bank.mortgage.model.AmortizationSummary;
+import com.bank.mortgage.service.AmortizationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AmortizationController.class)
+class AmortizationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AmortizationService amortizationService;
+
+    @MockBean
+    private MortgageMetrics mortgageMetrics;
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getAmortizationSchedule_whenValidRequest_shouldStreamRows() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write("[{\"period\":1}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(amortizationService).writeSchedule(eq(100000d), eq(10), any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/amortization-schedule")
+                        .param("loanValue", "100000")
+                        .param("maturityPeriod", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].period").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getAmortizationSummary_whenValidRequest_shouldReturnTotals() throws Exception {
+        when(amortizationService.summarizeSchedule(100000d, 10)).thenReturn(new AmortizationSummary(1060.66, 120, 127279.2, 27279.2));
+
+        mockMvc.perform(get("/api/v1/amortization-schedule/summary")
+                        .param("loanValue", "100000")
+                        .param("maturityPeriod", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfPayments").value(120))
+                .andExpect(jsonPath("$.totalInterest").value(27279.2));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getAmortizationSummary_whenInvalidRequest_shouldReturnBadRequest() throws Exception {
+        when(amortizationService.summarizeSchedule(0d, 10)).thenThrow(new InvalidAmortizationRequestException());
+
+        mockMvc.perform(get("/api/v1/amortization-schedule/summary")
+                        .param("loanValue", "0")
+                        .param("maturityPeriod", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_AMORTIZATION_REQUEST"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getAmortizationSchedule_whenMaturityPeriodAboveMaximum_shouldReturnBadRequest() throws Exception {
+        doThrow(new InvalidAmortizationRequestException())
+                .when(amortizationService).writeSchedule(eq(100000d), intThat(period -> period > 100), any(OutputStream.class));
+        when(amortizationService.summarizeSchedule(eq(100000d), intThat(period -> period > 100)))
+                .thenThrow(new InvalidAmortizationRequestException());
+
+        for (String maturityPeriod : new String[]{"101", String.valueOf(Integer.MAX_VALUE)}) {
+            mockMvc.perform(get("/api/v1/amortization-schedule")
+                            .param("loanValue", "100000")
+                            .param("maturityPeriod", maturityPeriod))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("INVALID_AMORTIZATION_REQUEST"));
+            mockMvc.perform(get("/api/v1/amortization-schedule/summary")
+                            .param("loanValue", "100000")
+                            .param("maturityPeriod", maturityPeriod))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("INVALID_AMORTIZATION_REQUEST"));
+        }
+    }
+}
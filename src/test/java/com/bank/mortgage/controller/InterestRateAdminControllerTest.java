@@ -0,0 +1,80 @@
+package com.bank.mortgage.controller;
+
+import com.bank.mortgage.config.SecurityConfig;
+import com.bank.mortgage.exception.InvalidRateSheetException;
+import com.bank.mortgage.metrics.MortgageMetrics;
+import com.bank.mortgage.model.InterestRateSheetResult;
+import com.bank.mortgage.service.InterestRateSheetService;
+import com.bank.mortgage.util.ExceptionMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(InterestRateAdminController.class)
+@Import(SecurityConfig.class)
+class InterestRateAdminControllerTest {
+
+    private static final String SHEET = "[{\"maturityPeriod\":10,\"interestRate\":4.5},{\"maturityPeriod\":25,\"interestRate\":6.5}]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InterestRateSheetService interestRateSheetService;
+
+    @MockBean
+    private MortgageMetrics mortgageMetrics;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void upsertInterestRates_whenAdmin_shouldReturnResult() throws Exception {
+        when(interestRateSheetService.upsertRates(anyList()))
+                .thenReturn(new InterestRateSheetResult(1, 1, new Timestamp(System.currentTimeMillis())));
+
+        mockMvc.perform(put("/api/v1/admin/interest-rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SHEET))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.inserted").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void upsertInterestRates_whenNotAdmin_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(put("/api/v1/admin/interest-rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SHEET))
+                .andExpect(status().isForbidden());
+
+        verify(interestRateSheetService, never()).upsertRates(anyList());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void upsertInterestRates_whenInvalidSheet_shouldReturnBadRequest() throws Exception {
+        when(interestRateSheetService.upsertRates(anyList())).thenThrow(new InvalidRateSheetException());
+
+        mockMvc.perform(put("/api/v1/admin/interest-rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_RATE_SHEET"));
+
+        verify(mortgageMetrics).clientError(ExceptionMessage.INVALID_RATE_SHEET);
+    }
+}
\ No newline at end of file
@@ -1,16 +1,24 @@
 package com.bank.mortgage.controller;
 
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.config.BinaryFormatConfig;
 import com.bank.mortgage.exception.ErrorResponse;
 import com.bank.mortgage.exception.HomeValueExceededException;
 import com.bank.mortgage.exception.InterestRateNotFoundException;
+import com.bank.mortgage.exception.InvalidBatchRequestException;
 import com.bank.mortgage.exception.MaxLoanExceededException;
+import com.bank.mortgage.metrics.MortgageMetrics;
+import com.bank.mortgage.model.InterestRate;
 import com.bank.mortgage.model.InterestRateResponse;
 import com.bank.mortgage.model.MortgageCheckRequest;
 import com.bank.mortgage.model.MortgageCheckResponse;
 import com.bank.mortgage.service.InterestRateService;
+import com.bank.mortgage.service.MortgageBatchService;
 import com.bank.mortgage.service.MortgageService;
 import com.bank.mortgage.util.ExceptionMessage;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,20 +26,36 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static com.bank.mortgage.util.ExceptionMessage.HOME_VALUE_EXCEEDED;
 import static com.bank.mortgage.util.ExceptionMessage.MAX_LOAN_EXCEEDED;
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -40,6 +64,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ExtendWith({MockitoExtension.class, SpringExtension.class})
 @WebMvcTest(MortgageController.class)
+@Import(BinaryFormatConfig.class)
 class MortgageControllerTest {
 
     @Autowired
@@ -48,12 +73,21 @@ class MortgageControllerTest {
     @MockBean
     private MortgageService mortgageService;
 
+    @MockBean
+    private MortgageMetrics mortgageMetrics;
+
     @MockBean
     private InterestRateService interestRateService;
 
+    @MockBean
+    private MortgageBatchService mortgageBatchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final ObjectMapper smileMapper = new SmileMapper();
+
     private MortgageCheckRequest request;
     private MortgageCheckResponse response;
     private InterestRateResponse interestRateResponse;
@@ -74,6 +108,8 @@ class MortgageControllerTest {
         interestRateResponse.setMaturityPeriod(10);
         interestRateResponse.setInterestRate(5.0);
         interestRateResponse.setLastUpdate(Timestamp.from(Instant.parse("2025-03-03T12:00:00.000Z")));
+
+        when(interestRateService.getRateSnapshot()).thenReturn(InterestRateSnapshot.EMPTY);
     }
 
     @Test
@@ -90,6 +126,124 @@ class MortgageControllerTest {
                 .andExpect(jsonPath("$[0].interestRate").value(5.0));
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getInterestRates_shouldReturnValidators() throws Exception {
+        InterestRate interestRate = new InterestRate(UUID.randomUUID(), 10, 5.0, interestRateResponse.getLastUpdate());
+        InterestRateSnapshot snapshot = InterestRateSnapshot.of(Collections.singletonList(interestRate));
+        when(interestRateService.getRateSnapshot()).thenReturn(snapshot);
+        when(interestRateService.getAllInterestRates()).thenReturn(Collections.singletonList(interestRateResponse));
+
+        mockMvc.perform(get("/api/v1/interest-rates"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + Long.toHexString(snapshot.getVersion()) + "\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, interestRateResponse.getLastUpdate().getTime()));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getInterestRates_whenETagMatches_shouldReturnNotModifiedWithoutListing() throws Exception {
+        InterestRate interestRate = new InterestRate(UUID.randomUUID(), 10, 5.0, interestRateResponse.getLastUpdate());
+        InterestRateSnapshot snapshot = InterestRateSnapshot.of(Collections.singletonList(interestRate));
+        when(interestRateService.getRateSnapshot()).thenReturn(snapshot);
+        String eTag = "\"" + Long.toHexString(snapshot.getVersion()) + "\"";
+
+        mockMvc.perform(get("/api/v1/interest-rates").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        verify(interestRateService, never()).getAllInterestRates();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getInterestRates_whenNotModifiedSince_shouldReturnNotModified() throws Exception {
+        InterestRate interestRate = new InterestRate(UUID.randomUUID(), 10, 5.0, interestRateResponse.getLastUpdate());
+        when(interestRateService.getRateSnapshot()).thenReturn(InterestRateSnapshot.of(Collections.singletonList(interestRate)));
+
+        mockMvc.perform(get("/api/v1/interest-rates")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 03 Mar 2025 12:00:00 GMT"))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/interest-rates")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 03 Mar 2025 11:59:59 GMT"))
+                .andExpect(status().isOk());
+
+        verify(interestRateService, times(1)).getAllInterestRates();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getInterestRates_whenGzipAccepted_shouldReturnCompressedRates() throws Exception {
+        when(interestRateService.getAllInterestRates()).thenReturn(Collections.singletonList(interestRateResponse));
+
+        byte[] body = mockMvc.perform(get("/api/v1/interest-rates").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-gzip\"")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            InterestRateResponse[] rates = objectMapper.readValue(in, InterestRateResponse[].class);
+            assertEquals(10, rates[0].getMaturityPeriod());
+            assertEquals(5.0, rates[0].getInterestRate());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getInterestRates_whenCborAccepted_shouldReturnCborRates() throws Exception {
+        when(interestRateService.getAllInterestRates()).thenReturn(Collections.singletonList(interestRateResponse));
+
+        byte[] body = mockMvc.perform(get("/api/v1/interest-rates").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-cbor\"")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        InterestRateResponse[] rates = cborMapper.readValue(body, InterestRateResponse[].class);
+        assertEquals(10, rates[0].getMaturityPeriod());
+        assertEquals(5.0, rates[0].getInterestRate());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getInterestRates_whenAnyFormatAccepted_shouldPreferJson() throws Exception {
+        when(interestRateService.getAllInterestRates()).thenReturn(Collections.singletonList(interestRateResponse));
+
+        mockMvc.perform(get("/api/v1/interest-rates")
+                        .header(HttpHeaders.ACCEPT, "application/x-jackson-smile;q=0.9, */*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].maturityPeriod").value(10));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getInterestRates_whenGzipETagMatches_shouldReturnNotModified() throws Exception {
+        InterestRate interestRate = new InterestRate(UUID.randomUUID(), 10, 5.0, interestRateResponse.getLastUpdate());
+        InterestRateSnapshot snapshot = InterestRateSnapshot.of(Collections.singletonList(interestRate));
+        when(interestRateService.getRateSnapshot()).thenReturn(snapshot);
+
+        mockMvc.perform(get("/api/v1/interest-rates")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + Long.toHexString(snapshot.getVersion()) + "-gzip\""))
+                .andExpect(status().isNotModified());
+
+        verify(interestRateService, never()).getAllInterestRates();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getInterestRates_whenETagIsStale_shouldReturnRates() throws Exception {
+        when(interestRateService.getAllInterestRates()).thenReturn(Collections.singletonList(interestRateResponse));
+
+        mockMvc.perform(get("/api/v1/interest-rates").header(HttpHeaders.IF_NONE_MATCH, "\"1234\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].maturityPeriod").value(10));
+    }
+
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void mortgageCheck_whenValidRequest_shouldReturnFeasibleResponse() throws Exception {
@@ -102,7 +256,55 @@ class MortgageControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.feasible").value(true))
-                .andExpect(jsonPath("$.monthlyCost").value(1342.05));
+                .andExpect(jsonPath("$.monthlyCost").value(1342.05))
+                .andExpect(jsonPath("$.reasonCode").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void mortgageCheck_whenFieldIsMissing_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/mortgage-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"income\":75000,\"loanValue\":250000,\"homeValue\":300000}")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST_BODY"));
+        verifyNoInteractions(mortgageService);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void mortgageCheck_whenSmile_shouldReturnSmileResponse() throws Exception {
+        when(mortgageService.calculateMortgage(any(MortgageCheckRequest.class))).thenReturn(response);
+
+        byte[] body = mockMvc.perform(post("/api/v1/mortgage-check")
+                        .contentType(BinaryFormatConfig.APPLICATION_SMILE)
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(request))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MortgageCheckResponse checked = smileMapper.readValue(body, MortgageCheckResponse.class);
+        assertTrue(checked.isFeasible());
+        assertEquals(1342.05, checked.getMonthlyCost());
+        verify(mortgageService).calculateMortgage(eq(request));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void mortgageCheck_whenRejectedAsResponse_shouldReturnNotFeasibleWithReasonCode() throws Exception {
+        when(mortgageService.calculateMortgage(any(MortgageCheckRequest.class)))
+                .thenReturn(MortgageCheckResponse.rejected(MAX_LOAN_EXCEEDED));
+
+        mockMvc.perform(post("/api/v1/mortgage-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.feasible").value(false))
+                .andExpect(jsonPath("$.reasonCode").value("MAX_LOAN_EXCEEDED"));
     }
 
     @Test
@@ -163,6 +365,70 @@ class MortgageControllerTest {
     }
 
 
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void mortgageCheckBatch_whenJsonArray_shouldStreamResults() throws Exception {
+        when(mortgageBatchService.processJsonArray(any(InputStream.class), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("[{\"index\":0}]".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        mockMvc.perform(post("/api/v1/mortgage-check/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.singletonList(request)))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].index").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void mortgageCheckBatch_whenNdjson_shouldStreamNdjsonResults() throws Exception {
+        when(mortgageBatchService.processNdjson(any(InputStream.class), any(OutputStream.class))).thenReturn(0L);
+
+        mockMvc.perform(post("/api/v1/mortgage-check/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void mortgageCheckBatch_whenCborArray_shouldStreamCborResults() throws Exception {
+        when(mortgageBatchService.processArray(any(InputStream.class), any(OutputStream.class), any(ObjectMapper.class))).thenAnswer(invocation -> {
+            invocation.getArgument(2, ObjectMapper.class).writeValue(invocation.getArgument(1, OutputStream.class),
+                    Collections.singletonList(Collections.singletonMap("index", 0)));
+            return 1L;
+        });
+
+        byte[] body = mockMvc.perform(post("/api/v1/mortgage-check/batch")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(Collections.singletonList(request)))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(0, cborMapper.readTree(body).get(0).get("index").asInt());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void mortgageCheckBatch_whenNotAnArray_shouldReturnBadRequest() throws Exception {
+        when(mortgageBatchService.processJsonArray(any(InputStream.class), any(OutputStream.class)))
+                .thenThrow(new InvalidBatchRequestException());
+
+        mockMvc.perform(post("/api/v1/mortgage-check/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_BATCH_REQUEST"));
+    }
+
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getInterestRates_whenServiceThrowsException_shouldReturnInternalServerError() throws Exception {
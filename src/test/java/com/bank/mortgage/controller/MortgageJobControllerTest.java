@@ -0,0 +1,73 @@
+package com.bank.mortgage.controller;
+
+import com.bank.mortgage.exception.JobNotCompletedException;
+import com.bank.mortgage.exception.JobNotFoundException;
+import com.bank.mortgage.metrics.MortgageMetrics;
+import com.bank.mortgage.model.MortgageJobStatus;
+import com.bank.mortgage.service.MortgageJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MortgageJobController.class)
+class MortgageJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MortgageJobService mortgageJobService;
+
+    @MockBean
+    private MortgageMetrics mortgageMetrics;
+
+    private final MortgageJobStatus status = new MortgageJobStatus("job-1", MortgageJobStatus.State.QUEUED, "rates.csv",
+            0, 0, 0, Instant.parse("2025-03-03T12:00:00Z"), null, null, null);
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void submitJob_whenFileUploaded_shouldReturnAccepted() throws Exception {
+        when(mortgageJobService.submit(any())).thenReturn(status);
+
+        mockMvc.perform(multipart("/api/v1/jobs")
+                        .file(new MockMultipartFile("file", "rates.csv", "text/csv", "income".getBytes()))
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/jobs/job-1"))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getJob_whenUnknown_shouldReturnNotFound() throws Exception {
+        when(mortgageJobService.getStatus("missing")).thenThrow(new JobNotFoundException());
+
+        mockMvc.perform(get("/api/v1/jobs/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("JOB_NOT_FOUND"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getJobResult_whenNotCompleted_shouldReturnConflict() throws Exception {
+        when(mortgageJobService.getResult("job-1")).thenThrow(new JobNotCompletedException());
+
+        mockMvc.perform(get("/api/v1/jobs/job-1/result"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("JOB_NOT_COMPLETED"));
+    }
+}
@@ -1,19 +1,29 @@
 package com.bank.mortgage.exception;
 
+import com.bank.mortgage.metrics.MortgageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+
 import static com.bank.mortgage.util.ExceptionMessage.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GlobalExceptionHandlerTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
-    private GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+    private GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler(new MortgageMetrics(meterRegistry));
     ;
     @Mock
     private WebRequest request;
@@ -29,6 +39,7 @@ class GlobalExceptionHandlerTest {
         assertEquals(MAX_LOAN_EXCEEDED.getMessage(), responseEntity.getBody().getMessage());
         assertEquals("MAX_LOAN_EXCEEDED", responseEntity.getBody().getCode());
         assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getBody().getStatus());
+        assertEquals(1, meterRegistry.get(MortgageMetrics.REJECTIONS_COUNTER).tag("reason", "MAX_LOAN_EXCEEDED").counter().count());
     }
 
     @Test
@@ -53,6 +64,52 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.NOT_FOUND, responseEntity.getBody().getStatus());
     }
 
+    @Test
+    void whenInvalidBatchRequestException_thenReturnsBadRequest() {
+        InvalidBatchRequestException exception = new InvalidBatchRequestException();
+        ResponseEntity<ErrorResponse> responseEntity = globalExceptionHandler.handleInvalidBatchRequestException(exception, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals(INVALID_BATCH_REQUEST.getMessage(), responseEntity.getBody().getMessage());
+        assertEquals("INVALID_BATCH_REQUEST", responseEntity.getBody().getCode());
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getBody().getStatus());
+    }
+
+    @Test
+    void whenInvalidMortgageCheckRequestException_thenReturnsBadRequest() {
+        InvalidMortgageCheckRequestException exception = new InvalidMortgageCheckRequestException();
+        ResponseEntity<ErrorResponse> responseEntity = globalExceptionHandler.handleInvalidMortgageCheckRequestException(exception, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals(INVALID_MORTGAGE_CHECK_REQUEST.getMessage(), responseEntity.getBody().getMessage());
+        assertEquals("INVALID_MORTGAGE_CHECK_REQUEST", responseEntity.getBody().getCode());
+        assertEquals(1, meterRegistry.get(MortgageMetrics.CLIENT_ERRORS_COUNTER).tag("reason", "INVALID_MORTGAGE_CHECK_REQUEST").counter().count());
+    }
+
+    @Test
+    void whenHttpMessageNotReadableException_thenReturnsBadRequest() {
+        HttpMessageNotReadableException exception = new HttpMessageNotReadableException("JSON parse error", new MockHttpInputMessage(new byte[0]));
+        ResponseEntity<ErrorResponse> responseEntity = globalExceptionHandler.handleHttpMessageNotReadableException(exception, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals(INVALID_REQUEST_BODY.getMessage(), responseEntity.getBody().getMessage());
+        assertEquals("INVALID_REQUEST_BODY", responseEntity.getBody().getCode());
+        assertEquals(1, meterRegistry.get(MortgageMetrics.CLIENT_ERRORS_COUNTER).tag("reason", "INVALID_REQUEST_BODY").counter().count());
+        assertTrue(meterRegistry.find(MortgageMetrics.REJECTIONS_COUNTER).tag("reason", "INVALID_REQUEST_BODY").counters().isEmpty());
+    }
+
+    @Test
+    void whenServiceOverloadedException_thenReturnsServiceUnavailableWithRetryAfter() {
+        ServiceOverloadedException exception = new ServiceOverloadedException(Duration.ofMillis(1500));
+        ResponseEntity<ErrorResponse> responseEntity = globalExceptionHandler.handleServiceOverloadedException(exception, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+        assertEquals("2", responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(SERVICE_OVERLOADED.getMessage(), responseEntity.getBody().getMessage());
+        assertEquals("SERVICE_OVERLOADED", responseEntity.getBody().getCode());
+        assertTrue(meterRegistry.find(MortgageMetrics.REJECTIONS_COUNTER).tag("reason", "SERVICE_OVERLOADED").counters().isEmpty());
+    }
+
     @Test
     void whenMortgageCalculationException_thenReturnsInternalServerError() {
         MortgageCalculationException exception = new MortgageCalculationException();
@@ -62,6 +119,7 @@ class GlobalExceptionHandlerTest {
         assertEquals(MORTGAGE_CALCULATION_ERROR.getMessage(), responseEntity.getBody().getMessage());
         assertEquals("MORTGAGE_CALCULATION_ERROR", responseEntity.getBody().getCode());
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, responseEntity.getBody().getStatus());
+        assertEquals(1, meterRegistry.get(MortgageMetrics.SERVER_ERRORS_COUNTER).tag("reason", "MORTGAGE_CALCULATION_ERROR").counter().count());
     }
 
     @Test
@@ -0,0 +1,114 @@
+package com.bank.mortgage.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private long now;
+
+    @Test
+    void whenLimitIsReached_thenFurtherChecksAreRefusedUntilOneIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release(FAST, false);
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void whenChecksAreSlowOrFail_thenLimitShrinksButNotBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 200);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertEquals(18, limiter.getLimit());
+
+        now += SLOW;
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertEquals(16, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            now += SLOW;
+            limiter.tryAcquire();
+            limiter.release(SLOW, false);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void whenABurstOfChecksIsSlowAtOnce_thenLimitBacksOffOnlyOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 200);
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < 20; i++) {
+            limiter.release(SLOW, false);
+        }
+        assertEquals(18, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+
+        now += Duration.ofMillis(250).toNanos();
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    void whenFastChecksUseTheLimit_thenLimitGrowsUpToMaximum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 4, 6);
+
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            for (int i = 0; i < 4; i++) {
+                limiter.release(FAST, false);
+            }
+        }
+
+        assertEquals(6, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void whenFastChecksLeaveTheLimitMostlyIdle_thenLimitDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 200);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, false);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void whenDisabled_thenNothingIsRefused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(false, 1, 1, 1,
+                Duration.ofMillis(250), 0.9, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(true, initialLimit, minLimit, maxLimit,
+                Duration.ofMillis(250), 0.9, Duration.ofSeconds(1), () -> now);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.bank.mortgage.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution and throughput of one load scenario.
+ */
+final class LoadResult {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String name;
+    private final int targetRate;
+    private final int concurrency;
+    private final Histogram histogram;
+    private final long errors;
+    private final long elapsedNanos;
+
+    LoadResult(String name, int targetRate, int concurrency, Histogram histogram, long errors, long elapsedNanos) {
+        this.name = name;
+        this.targetRate = targetRate;
+        this.concurrency = concurrency;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    long getRequests() {
+        return histogram.getTotalCount();
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    double getThroughput() {
+        return getRequests() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    String summary() {
+        return String.format(Locale.ROOT,
+                "%s: %d requests, %d errors, %.1f req/s (target %d, concurrency %d), "
+                        + "p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms",
+                name, getRequests(), errors, getThroughput(), targetRate, concurrency,
+                percentileMillis(50), percentileMillis(99), percentileMillis(99.9), histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Writes {@code <name>.json} with the summary figures and {@code <name>.hgrm} with the full
+     * percentile distribution in milliseconds, which HdrHistogram's plotter can read.
+     */
+    void writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", name);
+        summary.put("targetRate", targetRate);
+        summary.put("concurrency", concurrency);
+        summary.put("requests", getRequests());
+        summary.put("errors", errors);
+        summary.put("throughput", getThroughput());
+        summary.put("p50Millis", percentileMillis(50));
+        summary.put("p99Millis", percentileMillis(99));
+        summary.put("p999Millis", percentileMillis(99.9));
+        summary.put("maxMillis", histogram.getMaxValue() / NANOS_PER_MILLI);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve(name + ".json").toFile(), summary);
+
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+}
\ No newline at end of file
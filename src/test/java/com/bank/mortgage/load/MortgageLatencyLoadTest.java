@@ -0,0 +1,114 @@
+package com.bank.mortgage.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the running application over HTTP, through the security filter chain, servlet dispatch
+ * and JSON mapping, and reports latency percentiles and throughput per endpoint.
+ * <p>
+ * Tagged {@code load}, so it only runs with {@code mvn -Pload-test test}. The arrival rate,
+ * worker count, warmup and measurement time are read from the {@code load.rate},
+ * {@code load.concurrency}, {@code load.warmup} and {@code load.duration} system properties.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class MortgageLatencyLoadTest {
+
+    private static final Path REPORT_DIRECTORY = Paths.get("target", "load-test");
+
+    private static final String MORTGAGE_CHECK_BODY =
+            "{\"income\":75000,\"loanValue\":250000,\"homeValue\":300000,\"maturityPeriod\":20}";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${appUserName}")
+    private String username;
+
+    @Value("${password}")
+    private String password;
+
+    private HttpClient client;
+    private String authorization;
+    private OpenModelLoadGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        generator = new OpenModelLoadGenerator(
+                Integer.getInteger("load.rate", 100),
+                Integer.getInteger("load.concurrency", 16),
+                Duration.ofSeconds(Integer.getInteger("load.warmup", 5)),
+                Duration.ofSeconds(Integer.getInteger("load.duration", 20)));
+    }
+
+    @Test
+    void mortgageCheckLatency() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/mortgage-check"))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MORTGAGE_CHECK_BODY))
+                .build();
+
+        assertNoErrors(generator.run("mortgage-check", () -> send(request)));
+    }
+
+    @Test
+    void interestRatesLatency() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/interest-rates"))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+
+        assertNoErrors(generator.run("interest-rates", () -> send(request)));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void assertNoErrors(LoadResult result) throws IOException {
+        System.out.println(result.summary());
+        result.writeTo(REPORT_DIRECTORY);
+
+        assertTrue(result.getRequests() > 0);
+        assertEquals(0, result.getErrors());
+    }
+}
\ No newline at end of file
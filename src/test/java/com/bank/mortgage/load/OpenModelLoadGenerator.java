@@ -0,0 +1,103 @@
+package com.bank.mortgage.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * Issues requests at a fixed arrival rate, independent of how fast earlier requests complete
+ * (an open workload model), and records their latencies in an HDR histogram.
+ * <p>
+ * Latency is measured from the moment a request was scheduled to be sent, not from when a worker
+ * picked it up, so time spent queued behind slow requests is counted instead of hidden
+ * (no coordinated omission).
+ */
+final class OpenModelLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final int requestsPerSecond;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    OpenModelLoadGenerator(int requestsPerSecond, int concurrency, Duration warmup, Duration duration) {
+        if (requestsPerSecond <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("Rate and concurrency must be greater than 0.");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /**
+     * Runs the warmup and measurement phases.
+     *
+     * @param name    Name of the scenario, used in the report.
+     * @param request Sends one request and returns its HTTP status code.
+     * @return Latencies and counts of the requests scheduled during the measurement phase.
+     */
+    LoadResult run(String name, IntSupplier request) throws InterruptedException {
+        Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY, SIGNIFICANT_DIGITS);
+        AtomicLong errors = new AtomicLong();
+        AtomicLong lastCompletion = new AtomicLong();
+        long scheduledForMeasurement = 0;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long measurementStart = start + warmup.toNanos();
+        long end = measurementStart + duration.toNanos();
+        try {
+            for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+                long delay;
+                while ((delay = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                long intendedStart = scheduled;
+                boolean measured = scheduled >= measurementStart;
+                if (measured) {
+                    scheduledForMeasurement++;
+                }
+                workers.execute(() -> {
+                    int status = send(request);
+                    long now = System.nanoTime();
+                    if (measured) {
+                        histogram.recordValue(Math.min(now - intendedStart, HIGHEST_TRACKABLE_LATENCY));
+                        if (status < 200 || status >= 300) {
+                            errors.incrementAndGet();
+                        }
+                        lastCompletion.accumulateAndGet(now, Math::max);
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+        if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        // requests still queued when the server could not keep up count as errors, not as missing samples
+        long unfinished = scheduledForMeasurement - histogram.getTotalCount();
+        long elapsed = Math.max(lastCompletion.get() - measurementStart, 1);
+        return new LoadResult(name, requestsPerSecond, concurrency, histogram, errors.get() + unfinished, elapsed);
+    }
+
+    private static int send(IntSupplier request) {
+        try {
+            return request.getAsInt();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
\ No newline at end of file
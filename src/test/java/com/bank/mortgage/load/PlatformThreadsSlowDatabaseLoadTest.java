@@ -0,0 +1,15 @@
+package com.bank.mortgage.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Slow-database load test with requests served by the fixed Tomcat thread pool.
+ */
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsSlowDatabaseLoadTest extends SlowDatabaseLoadTest {
+
+    @Override
+    String threadMode() {
+        return "platform";
+    }
+}
\ No newline at end of file
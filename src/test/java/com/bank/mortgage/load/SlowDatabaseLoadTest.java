@@ -0,0 +1,185 @@
+package com.bank.mortgage.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures GET /api/v1/interest-rates while every JDBC statement is delayed by
+ * {@code load.db-latency} milliseconds (default 50), with the rate cache disabled so each request
+ * reaches the database. Subclasses run it with platform and with virtual request threads.
+ * <p>
+ * The Tomcat pool is capped at {@code load.tomcat-threads} (default 20) and the connection pool
+ * at {@code load.db-pool-size} (default 50). With platform threads, throughput is then bounded
+ * by the Tomcat pool. With virtual threads, the Tomcat pool is not used, and throughput is
+ * bounded by the connection pool. Run with {@code mvn -Pload-test test} on Java 21; the
+ * {@code load.*} rate properties of {@link MortgageLatencyLoadTest} apply.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cache.type=none",
+        "spring.datasource.url=jdbc:h2:mem:slow-db-${random.uuid}",
+        "server.tomcat.threads.max=${load.tomcat-threads:20}",
+        "spring.datasource.hikari.maximum-pool-size=${load.db-pool-size:50}"
+})
+@ActiveProfiles("test")
+@Import(SlowDatabaseLoadTest.SlowDatabaseConfig.class)
+abstract class SlowDatabaseLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${appUserName}")
+    private String username;
+
+    @Value("${password}")
+    private String password;
+
+    private HttpClient client;
+    private OpenModelLoadGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        generator = new OpenModelLoadGenerator(
+                Integer.getInteger("load.rate", 100),
+                Integer.getInteger("load.concurrency", 200),
+                Duration.ofSeconds(Integer.getInteger("load.warmup", 5)),
+                Duration.ofSeconds(Integer.getInteger("load.duration", 20)));
+    }
+
+    /**
+     * @return Name of the thread mode, used in the report file name.
+     */
+    abstract String threadMode();
+
+    @Test
+    void interestRatesLatencyWithSlowDatabase() throws Exception {
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/interest-rates"))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+
+        LoadResult result = generator.run("interest-rates-slow-db-" + threadMode(), () -> send(request));
+        System.out.println(result.summary());
+        result.writeTo(Paths.get("target", "load-test"));
+
+        assertTrue(result.getRequests() > 0);
+        assertEquals(0, result.getErrors());
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        /**
+         * Wraps the data source so that every statement sleeps before it executes, as if the
+         * database were a network round trip away.
+         */
+        @Bean
+        static BeanPostProcessor slowDataSourcePostProcessor(@Value("${load.db-latency:50}") long latencyMillis) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource((DataSource) bean) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return slowConnection(super.getConnection(), latencyMillis);
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection slowConnection(Connection connection, long latencyMillis) {
+            return mappingProxy(Connection.class, connection, (method, result) -> result instanceof Statement
+                    ? slowStatement((Statement) result, latencyMillis)
+                    : result);
+        }
+
+        private static Statement slowStatement(Statement statement, long latencyMillis) {
+            if (statement instanceof CallableStatement) {
+                return proxy(CallableStatement.class, (CallableStatement) statement, latencyMillis);
+            }
+            if (statement instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, (PreparedStatement) statement, latencyMillis);
+            }
+            return proxy(Statement.class, statement, latencyMillis);
+        }
+
+        private static <T> T proxy(Class<T> type, T target, long latencyMillis) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(latencyMillis);
+                }
+                return invoke(target, method, args);
+            }));
+        }
+
+        private static <T> T mappingProxy(Class<T> type, T target, ResultMapper mapper) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (p, method, args) -> mapper.map(method, invoke(target, method, args))));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private interface ResultMapper {
+            Object map(Method method, Object result);
+        }
+    }
+}
\ No newline at end of file
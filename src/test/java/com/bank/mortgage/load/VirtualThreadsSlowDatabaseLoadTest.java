@@ -0,0 +1,18 @@
+package com.bank.mortgage.load;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Slow-database load test with every request served on its own virtual thread.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsSlowDatabaseLoadTest extends SlowDatabaseLoadTest {
+
+    @Override
+    String threadMode() {
+        return "virtual";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.bank.mortgage.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropCountingAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final BlockedAppender target = new BlockedAppender();
+    private final DropCountingAsyncAppender appender = new DropCountingAsyncAppender();
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        target.setContext(context);
+        target.start();
+        appender.setContext(context);
+        appender.addAppender(target);
+        logger = context.getLogger("test");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        context.stop();
+    }
+
+    @Test
+    void whenQueueIsFull_thenEventsAreDroppedAndCounted() throws InterruptedException {
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(0);
+        appender.start();
+        blockWorker();
+
+        for (int i = 0; i < 20; i++) {
+            logger.error("event {}", i);
+        }
+        target.release.countDown();
+        appender.stop();
+
+        assertEquals(16, appender.getDroppedCount());
+        assertEquals(0, appender.getDiscardedCount());
+        assertEquals(5, target.events.size());
+    }
+
+    @Test
+    void whenQueueIsNearlyFull_thenInfoIsDiscardedButErrorsAreKept() throws InterruptedException {
+        appender.setQueueSize(10);
+        appender.setDiscardingThreshold(5);
+        appender.start();
+        blockWorker();
+
+        for (int i = 0; i < 10; i++) {
+            logger.info("event {}", i);
+        }
+        logger.error("failure");
+        target.release.countDown();
+        appender.stop();
+
+        // 6 INFO events fit before free capacity drops below 5, the other 4 are discarded
+        assertEquals(4, appender.getDiscardedCount());
+        assertEquals(0, appender.getDroppedCount());
+        assertEquals(8, target.events.size());
+        assertEquals(Level.ERROR, target.events.get(target.events.size() - 1).getLevel());
+    }
+
+    /**
+     * Logs one event and waits until the async worker is held on it, so the queue is empty and
+     * nothing is drained until the target is released.
+     */
+    private void blockWorker() throws InterruptedException {
+        logger.error("first");
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Collects events, but holds the async worker on the first one until released, so the queue
+     * fills up deterministically.
+     */
+    private static class BlockedAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+    }
+}
\ No newline at end of file
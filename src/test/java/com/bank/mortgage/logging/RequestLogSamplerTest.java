@@ -0,0 +1,34 @@
+package com.bank.mortgage.logging;
+
+import com.bank.mortgage.metrics.MortgageMetrics.Outcome;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogSamplerTest {
+
+    @Test
+    void whenRateIsOneOrZero_thenEveryOrNoCheckIsSampled() {
+        RequestLogSampler sampler = new RequestLogSampler(0, 1.0, 1.0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(sampler.sample(Outcome.ACCEPTED));
+            assertTrue(sampler.sample(Outcome.REJECTED));
+            assertTrue(sampler.sample(Outcome.ERROR));
+        }
+    }
+
+    @Test
+    void whenRateIsFractional_thenAboutThatShareIsSampled() {
+        RequestLogSampler sampler = new RequestLogSampler(0.1, 1.0, 1.0);
+
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.sample(Outcome.ACCEPTED)) {
+                sampled++;
+            }
+        }
+
+        assertEquals(10_000, sampled, 1_000);
+    }
+}
\ No newline at end of file
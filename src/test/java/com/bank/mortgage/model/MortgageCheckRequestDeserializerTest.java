@@ -0,0 +1,112 @@
+package com.bank.mortgage.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MortgageCheckRequestDeserializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void whenAmountsAreDecimal_thenTheyAreReadAsExactCents() throws IOException {
+        MortgageCheckRequest request = read("{\"income\":0.29,\"loanValue\":250000,\"homeValue\":300000.5,\"maturityPeriod\":20}");
+
+        assertEquals(29, request.getIncomeCents());
+        assertEquals(25_000_000, request.getLoanValueCents());
+        assertEquals(30_000_050, request.getHomeValueCents());
+        assertEquals(20, request.getMaturityPeriod());
+    }
+
+    @Test
+    void whenAmountHasMoreThanTwoDecimalsOrAnExponent_thenItIsRoundedHalfUp() throws IOException {
+        MortgageCheckRequest request = read("{\"income\":1.005,\"loanValue\":-1.005,\"homeValue\":2.5E5,\"maturityPeriod\":20}");
+
+        assertEquals(101, request.getIncomeCents());
+        assertEquals(-101, request.getLoanValueCents());
+        assertEquals(25_000_000, request.getHomeValueCents());
+    }
+
+    @Test
+    void whenNumbersAreQuotedAndUnknownFieldsSent_thenRequestIsStillRead() throws IOException {
+        MortgageCheckRequest request = read("{\"maturityPeriod\":\"30\",\"extra\":{\"a\":[1,2]},\"income\":\" 75000.10 \","
+                + "\"loanValue\":\"250000\",\"homeValue\":300000,\"note\":null}");
+
+        assertEquals(MortgageCheckRequest.ofCents(7_500_010, 25_000_000, 30_000_000, 30), request);
+    }
+
+    @Test
+    void whenFieldIsMissingOrNull_thenReadFails() {
+        assertThrows(MismatchedInputException.class,
+                () -> read("{\"income\":75000,\"loanValue\":250000,\"homeValue\":300000}"));
+        assertThrows(MismatchedInputException.class,
+                () -> read("{\"income\":null,\"loanValue\":250000,\"homeValue\":300000,\"maturityPeriod\":20}"));
+        assertThrows(MismatchedInputException.class, () -> read("[1,2]"));
+    }
+
+    @Test
+    void whenAmountIsNotANumberOrOutOfRange_thenReadFails() {
+        assertThrows(InvalidFormatException.class,
+                () -> read("{\"income\":\"abc\",\"loanValue\":250000,\"homeValue\":300000,\"maturityPeriod\":20}"));
+        assertThrows(InvalidFormatException.class,
+                () -> read("{\"income\":1e30,\"loanValue\":250000,\"homeValue\":300000,\"maturityPeriod\":20}"));
+        assertThrows(InvalidFormatException.class,
+                () -> read("{\"income\":-9223372036854775808,\"loanValue\":250000,\"homeValue\":300000,\"maturityPeriod\":20}"));
+        assertThrows(InvalidFormatException.class,
+                () -> read("{\"income\":-92233720368547759,\"loanValue\":250000,\"homeValue\":300000,\"maturityPeriod\":20}"));
+        assertThrows(InvalidFormatException.class,
+                () -> read("{\"income\":75000,\"loanValue\":250000,\"homeValue\":300000,\"maturityPeriod\":3000000000}"));
+    }
+
+    @Test
+    void whenUnknownFieldsAreRejected_thenUnknownFieldFailsTheRead() {
+        ObjectMapper strict = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        assertThrows(MismatchedInputException.class, () -> strict.readValue(
+                "{\"income\":75000,\"loanValue\":250000,\"homeValue\":300000,\"maturityPeriod\":20,\"extra\":1}",
+                MortgageCheckRequest.class));
+    }
+
+    @Test
+    void whenWrittenAndReadBack_thenRequestIsUnchangedInEveryFormat() throws IOException {
+        MortgageCheckRequest request = MortgageCheckRequest.ofCents(7_500_029, 25_000_001, 30_000_000, 20);
+
+        assertEquals("{\"income\":75000.29,\"loanValue\":250000.01,\"homeValue\":300000.0,\"maturityPeriod\":20}",
+                objectMapper.writeValueAsString(request));
+        for (ObjectMapper format : new ObjectMapper[]{objectMapper, new CBORMapper(), new SmileMapper()}) {
+            assertEquals(request, format.readValue(format.writeValueAsBytes(request), MortgageCheckRequest.class));
+        }
+    }
+
+    @Test
+    void whenBinaryFormatSendsADouble_thenItIsRoundedLikeTheSameJsonNumber() throws IOException {
+        ObjectMapper cbor = new CBORMapper();
+        byte[] body = cbor.writeValueAsBytes(Map.of("income", 1.005, "loanValue", 0.1 + 0.2, "homeValue", 300000.5, "maturityPeriod", 20));
+
+        assertEquals(MortgageCheckRequest.ofCents(101, 30, 30_000_050, 20), cbor.readValue(body, MortgageCheckRequest.class));
+    }
+
+    @Test
+    void whenResponseIsWritten_thenFieldsKeepTheirOrderAndReasonCodeIsLeftOutUnlessSet() throws IOException {
+        assertEquals("{\"monthlyCost\":1449.89,\"feasible\":true}",
+                objectMapper.writeValueAsString(new MortgageCheckResponse(true, 1449.89)));
+        assertEquals("{\"monthlyCost\":0.0,\"reasonCode\":\"MAX_LOAN_EXCEEDED\",\"feasible\":false}",
+                objectMapper.writeValueAsString(new MortgageCheckResponse(false, 0, "MAX_LOAN_EXCEEDED")));
+    }
+
+    private MortgageCheckRequest read(String json) throws IOException {
+        return objectMapper.readValue(json, MortgageCheckRequest.class);
+    }
+}
\ No newline at end of file
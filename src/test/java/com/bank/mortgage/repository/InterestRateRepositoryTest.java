@@ -25,6 +25,9 @@ class InterestRateRepositoryTest {
 
     @BeforeEach
     void setUp() {
+        // data.sql seeds the same maturity periods, which are unique
+        interestRateRepository.deleteAllInBatch();
+
         interestRate1 = new InterestRate();
         interestRate1.setId(UUID.randomUUID());
         interestRate1.setMaturityPeriod(10);
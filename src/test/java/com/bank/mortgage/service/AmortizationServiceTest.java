@@ -0,0 +1,86 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.exception.InterestRateNotFoundException;
+import com.bank.mortgage.exception.InvalidAmortizationRequestException;
+import com.bank.mortgage.model.AmortizationSummary;
+import com.bank.mortgage.strategy.StandardMortgageCalculator;
+import com.bank.mortgage.util.MortgageConstants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AmortizationServiceTest {
+
+    @Mock
+    private InterestRateService interestRateService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AmortizationService amortizationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        amortizationService = new AmortizationService(interestRateService, new StandardMortgageCalculator(), objectMapper);
+
+        when(interestRateService.getRate(10)).thenReturn(5.0);
+        when(interestRateService.getRate(30)).thenThrow(new InterestRateNotFoundException("Interest rate not found"));
+    }
+
+    @Test
+    void whenWriteSchedule_thenWritesOneRowPerMonth() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        amortizationService.writeSchedule(100000, 10, out);
+
+        JsonNode rows = objectMapper.readTree(out.toByteArray());
+        assertEquals(120, rows.size());
+        assertEquals(1, rows.get(0).get("period").asInt());
+        assertEquals(416.67, rows.get(0).get("interest").asDouble(), 0.01);
+        assertEquals(1060.66, rows.get(0).get("payment").asDouble(), 0.01);
+        assertEquals(0, rows.get(119).get("remainingBalance").asDouble(), 0.0);
+    }
+
+    @Test
+    void whenSummarizeSchedule_thenReturnsClosedFormTotals() {
+        AmortizationSummary summary = amortizationService.summarizeSchedule(100000, 10);
+
+        assertEquals(120, summary.getNumberOfPayments());
+        assertEquals(1060.66, summary.getMonthlyPayment(), 0.01);
+        assertEquals(summary.getMonthlyPayment() * 120, summary.getTotalPaid(), 0.000001);
+        assertEquals(summary.getTotalPaid() - 100000, summary.getTotalInterest(), 0.000001);
+    }
+
+    @Test
+    void whenLoanValueIsNotPositive_thenThrowsInvalidAmortizationRequestException() {
+        assertThrows(InvalidAmortizationRequestException.class, () -> amortizationService.summarizeSchedule(0, 10));
+        assertThrows(InvalidAmortizationRequestException.class, () -> amortizationService.writeSchedule(1000, 0, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void whenMaturityPeriodIsAboveMaximum_thenThrowsWithoutLookingUpTheRate() {
+        for (int maturityPeriod : new int[]{MortgageConstants.MAX_MATURITY_PERIOD + 1, Integer.MAX_VALUE}) {
+            assertThrows(InvalidAmortizationRequestException.class, () -> amortizationService.summarizeSchedule(1000, maturityPeriod));
+            assertThrows(InvalidAmortizationRequestException.class,
+                    () -> amortizationService.writeSchedule(1000, maturityPeriod, new ByteArrayOutputStream()));
+        }
+        verify(interestRateService, never()).getRate(anyInt());
+    }
+
+    @Test
+    void whenNoRateForMaturityPeriod_thenThrowsInterestRateNotFoundException() {
+        assertThrows(InterestRateNotFoundException.class, () -> amortizationService.summarizeSchedule(1000, 30));
+    }
+}
@@ -0,0 +1,118 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.MortgageApplication;
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.model.InterestRateUpdate;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two instances of the application against one file-based H2 database and checks that a
+ * rate sheet applied through one of them reaches the other through its refresher.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class InterestRateRefresherTest {
+
+    @TempDir
+    static Path databaseDirectory;
+
+    private static ConfigurableApplicationContext writer;
+    private static ConfigurableApplicationContext reader;
+
+    @BeforeAll
+    static void startInstances() {
+        String url = "jdbc:h2:file:" + databaseDirectory.resolve("mortgage-db").toAbsolutePath();
+        writer = start(url, "always");
+        reader = start(url, "never");
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (reader != null) {
+            reader.close();
+        }
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String url, String sqlInitMode) {
+        return new SpringApplicationBuilder(MortgageApplication.class)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.sql.init.mode=" + sqlInitMode,
+                        "server.port=0",
+                        "server.tomcat.mbeanregistry.enabled=false",
+                        // the test triggers refreshes itself
+                        "mortgage.rates.refresh.interval=1h")
+                .run();
+    }
+
+    @Test
+    @Order(1)
+    void refresh_ShouldApplyRateSheetFromOtherInstance() {
+        InterestRateService readerRates = reader.getBean(InterestRateService.class);
+        InterestRateSnapshot before = readerRates.getRateSnapshot();
+        assertEquals(5.0, before.rate(10));
+
+        writer.getBean(InterestRateSheetService.class).upsertRates(List.of(
+                new InterestRateUpdate(10, 4.5),
+                new InterestRateUpdate(30, 6.5)));
+        assertEquals(5.0, readerRates.getRateSnapshot().rate(10));
+
+        reader.getBean(InterestRateRefresher.class).refresh();
+
+        InterestRateSnapshot after = readerRates.getRateSnapshot();
+        assertEquals(4.5, after.rate(10));
+        assertEquals(6.5, after.find(30).getInterestRate());
+        // only changed rows were read: the unchanged row is carried over, not reloaded
+        assertSame(before.find(20), after.find(20));
+    }
+
+    @Test
+    @Order(2)
+    void refresh_ShouldKeepSnapshotWhenNothingChanged() {
+        InterestRateService readerRates = reader.getBean(InterestRateService.class);
+        InterestRateSnapshot before = readerRates.getRateSnapshot();
+
+        reader.getBean(InterestRateRefresher.class).refresh();
+
+        assertSame(before, readerRates.getRateSnapshot());
+    }
+
+    @Test
+    @Order(3)
+    void refresh_ShouldApplyRowsWrittenDirectlyToDatabase() {
+        writer.getBean(JdbcTemplate.class).update(
+                "UPDATE interest_rate SET interest_rate = ?, last_update = ? WHERE maturity_period = ?",
+                7.0, new Timestamp(System.currentTimeMillis()), 20);
+
+        reader.getBean(InterestRateRefresher.class).refresh();
+
+        assertEquals(7.0, reader.getBean(InterestRateService.class).getRateSnapshot().rate(20));
+    }
+
+    @Test
+    @Order(4)
+    void staleness_ShouldBeReportedAfterRefresh() {
+        reader.getBean(InterestRateRefresher.class).refresh();
+
+        double staleness = reader.getBean(MeterRegistry.class).get("mortgage.rates.staleness").gauge().value();
+        assertTrue(staleness >= 0 && staleness < 5, "staleness was " + staleness);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.config.CacheConfig;
+import com.bank.mortgage.model.InterestRate;
+import com.bank.mortgage.repository.InterestRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, InterestRateService.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class InterestRateServiceCacheTest {
+
+    @MockBean
+    private InterestRateRepository interestRateRepository;
+
+    @Autowired
+    private InterestRateService interestRateService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setMaturityPeriod(10);
+        interestRate.setInterestRate(5.0);
+        when(interestRateRepository.findAll()).thenReturn(Collections.singletonList(interestRate));
+        cacheManager.getCache(CacheConfig.INTEREST_RATES_CACHE).clear();
+        clearInvocations(interestRateRepository);
+    }
+
+    @Test
+    void whenGetAllInterestRatesTwice_thenRepositoryIsQueriedOnce() {
+        interestRateService.getAllInterestRates();
+        interestRateService.getAllInterestRates();
+
+        verify(interestRateRepository, times(1)).findAll();
+    }
+
+    @Test
+    void whenRefreshRates_thenListingIsEvicted() {
+        interestRateService.getAllInterestRates();
+        interestRateService.refreshRates();
+        interestRateService.getAllInterestRates();
+
+        // one listing load, one snapshot reload, one listing reload after eviction
+        verify(interestRateRepository, times(3)).findAll();
+    }
+
+    @Test
+    void whenRefreshChangedRatesFindsNoChanges_thenListingStaysCached() {
+        interestRateService.getRateSnapshot();
+        clearInvocations(interestRateRepository);
+
+        interestRateService.getAllInterestRates();
+        assertFalse(interestRateService.refreshChangedRates(Duration.ofSeconds(10)));
+        interestRateService.getAllInterestRates();
+
+        verify(interestRateRepository, times(1)).findAll();
+    }
+
+    @Test
+    void whenRefreshChangedRatesFindsChanges_thenListingIsEvicted() {
+        interestRateService.getRateSnapshot();
+        clearInvocations(interestRateRepository);
+        InterestRate changed = new InterestRate();
+        changed.setMaturityPeriod(30);
+        changed.setInterestRate(6.5);
+        changed.setLastUpdate(new Timestamp(System.currentTimeMillis()));
+        when(interestRateRepository.findByLastUpdateAfter(any())).thenReturn(Collections.singletonList(changed));
+
+        interestRateService.getAllInterestRates();
+        assertTrue(interestRateService.refreshChangedRates(Duration.ofSeconds(10)));
+        interestRateService.getAllInterestRates();
+
+        verify(interestRateRepository, times(2)).findAll();
+        assertEquals(6.5, interestRateService.getRateSnapshot().rate(30));
+    }
+
+    @Test
+    void whenCacheIsUsed_thenStatisticsAreRecorded() {
+        interestRateService.getAllInterestRates();
+        interestRateService.getAllInterestRates();
+
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.INTEREST_RATES_CACHE);
+        assertTrue(cache.getNativeCache().stats().hitCount() >= 1);
+        assertEquals(1, cache.getNativeCache().estimatedSize());
+    }
+}
@@ -1,5 +1,7 @@
 package com.bank.mortgage.service;
 
+import com.bank.mortgage.cache.InterestRateCurve;
+import com.bank.mortgage.cache.InterestRatesRefreshedEvent;
 import com.bank.mortgage.exception.InterestRateNotFoundException;
 import com.bank.mortgage.model.InterestRate;
 import com.bank.mortgage.model.InterestRateResponse;
@@ -8,16 +10,18 @@ import com.bank.mortgage.util.ExceptionMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -31,7 +35,9 @@ class InterestRateServiceTest {
     @Mock
     private InterestRateRepository interestRateRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private InterestRateService interestRateService;
 
     @Mock
@@ -42,6 +48,7 @@ class InterestRateServiceTest {
 
     @BeforeEach
     void setUp() {
+        interestRateService = new InterestRateService(interestRateRepository, eventPublisher, InterestRateCurve.Lookup.EXACT);
         interestRate = new InterestRate();
         interestRate.setMaturityPeriod(10);
         interestRate.setInterestRate(5.0);
@@ -55,7 +62,7 @@ class InterestRateServiceTest {
 
     @Test
     void whenGetInterestRateWithValidMaturityPeriod_thenReturnsInterestRate() {
-        when(interestRateRepository.findByMaturityPeriod(anyInt())).thenReturn(interestRate);
+        when(interestRateRepository.findAll()).thenReturn(Collections.singletonList(interestRate));
 
         InterestRate result = interestRateService.getInterestRate(10);
 
@@ -67,16 +74,85 @@ class InterestRateServiceTest {
 
     @Test
     void whenGetInterestRateWithInvalidMaturityPeriod_thenThrowsInterestRateNotFoundException() {
-        when(interestRateRepository.findByMaturityPeriod(anyInt())).thenReturn(null);
+        when(interestRateRepository.findAll()).thenReturn(Collections.singletonList(interestRate));
 
         InterestRateNotFoundException exception = assertThrows(
                 InterestRateNotFoundException.class,
-                () -> interestRateService.getInterestRate(10)
+                () -> interestRateService.getInterestRate(30)
         );
 
         assertEquals(ExceptionMessage.INTEREST_RATE_FETCH_ERROR.getMessage(), exception.getMessage());
     }
 
+    @Test
+    void whenGetInterestRateRepeatedly_thenLoadsSnapshotOnce() {
+        when(interestRateRepository.findAll()).thenReturn(Collections.singletonList(interestRate));
+
+        interestRateService.getInterestRate(10);
+        interestRateService.getInterestRate(10);
+        assertThrows(InterestRateNotFoundException.class, () -> interestRateService.getInterestRate(30));
+        assertThrows(InterestRateNotFoundException.class, () -> interestRateService.getInterestRate(30));
+
+        verify(interestRateRepository, times(1)).findAll();
+        verify(interestRateRepository, never()).findByMaturityPeriod(anyInt());
+    }
+
+    @Test
+    void whenRefreshRates_thenSwapsSnapshot() {
+        InterestRate updatedRate = new InterestRate();
+        updatedRate.setMaturityPeriod(10);
+        updatedRate.setInterestRate(4.5);
+        InterestRate newRate = new InterestRate();
+        newRate.setMaturityPeriod(30);
+        newRate.setInterestRate(7.0);
+        when(interestRateRepository.findAll())
+                .thenReturn(Collections.singletonList(interestRate))
+                .thenReturn(Arrays.asList(updatedRate, newRate));
+
+        assertEquals(5.0, interestRateService.getInterestRate(10).getInterestRate());
+        assertThrows(InterestRateNotFoundException.class, () -> interestRateService.getInterestRate(30));
+
+        interestRateService.refreshRates();
+
+        assertEquals(4.5, interestRateService.getInterestRate(10).getInterestRate());
+        assertEquals(7.0, interestRateService.getInterestRate(30).getInterestRate());
+    }
+
+    @Test
+    void whenLookupIsInterpolated_thenPricesMaturityPeriodBetweenListedOnes() {
+        interestRateService = new InterestRateService(interestRateRepository, eventPublisher, InterestRateCurve.Lookup.INTERPOLATED);
+        InterestRate longRate = new InterestRate();
+        longRate.setMaturityPeriod(30);
+        longRate.setInterestRate(6.0);
+        when(interestRateRepository.findAll()).thenReturn(Arrays.asList(interestRate, longRate));
+
+        assertEquals(5.5, interestRateService.getRate(20), 1e-12);
+        assertEquals(6.0, interestRateService.getRate(40));
+        assertThrows(InterestRateNotFoundException.class, () -> interestRateService.getInterestRate(20));
+    }
+
+    @Test
+    void whenLookupIsExact_thenGetRateThrowsForUnlistedMaturityPeriod() {
+        when(interestRateRepository.findAll()).thenReturn(Collections.singletonList(interestRate));
+
+        assertEquals(5.0, interestRateService.getRate(10));
+        assertThrows(InterestRateNotFoundException.class, () -> interestRateService.getRate(15));
+    }
+
+    @Test
+    void whenSnapshotIsLoadedOrRefreshed_thenPublishesInterestRatesRefreshedEvent() {
+        when(interestRateRepository.findAll()).thenReturn(Collections.singletonList(interestRate));
+        ArgumentCaptor<InterestRatesRefreshedEvent> event = ArgumentCaptor.forClass(InterestRatesRefreshedEvent.class);
+
+        interestRateService.getInterestRate(10);
+        interestRateService.getInterestRate(10);
+        interestRateService.refreshRates();
+
+        verify(eventPublisher, times(2)).publishEvent(event.capture());
+        assertSame(interestRateService.getRateSnapshot(), event.getValue().getSnapshot());
+        assertEquals(1, event.getValue().getSnapshot().size());
+    }
+
     @Test
     void whenGetAllInterestRates_thenReturnsListOfInterestRates() {
         when(interestRateRepository.findAll()).thenReturn(Collections.singletonList(interestRate));
@@ -0,0 +1,118 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.exception.InvalidRateSheetException;
+import com.bank.mortgage.model.InterestRateSheetResult;
+import com.bank.mortgage.model.InterestRateUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({InterestRateSheetService.class, InterestRateService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InterestRateSheetServiceTest {
+
+    @Autowired
+    private InterestRateSheetService interestRateSheetService;
+
+    @Autowired
+    private InterestRateService interestRateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM interest_rate");
+        jdbcTemplate.update("INSERT INTO interest_rate (id, maturity_period, interest_rate, last_update) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), 10, 5.0, Timestamp.valueOf("2025-03-03 12:00:00"));
+        interestRateService.refreshRates();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM interest_rate");
+    }
+
+    @Test
+    void upsertRates_ShouldUpdateListedAndInsertNewMaturityPeriods() {
+        InterestRateSheetResult result = interestRateSheetService.upsertRates(List.of(
+                new InterestRateUpdate(10, 4.5),
+                new InterestRateUpdate(25, 6.5)));
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getInserted());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interest_rate", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM interest_rate WHERE last_update = ?", Integer.class, result.getLastUpdate()));
+    }
+
+    @Test
+    void upsertRates_ShouldKeepOneRowPerMaturityPeriodWhenAppliedAgain() {
+        interestRateSheetService.upsertRates(List.of(new InterestRateUpdate(25, 6.5)));
+        InterestRateSheetResult result = interestRateSheetService.upsertRates(List.of(
+                new InterestRateUpdate(10, 4.0),
+                new InterestRateUpdate(25, 6.0)));
+
+        assertEquals(2, result.getUpdated());
+        assertEquals(0, result.getInserted());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM interest_rate WHERE maturity_period = 25", Integer.class));
+        assertEquals(6.0, jdbcTemplate.queryForObject(
+                "SELECT interest_rate FROM interest_rate WHERE maturity_period = 25", Double.class));
+    }
+
+    @Test
+    void insert_ShouldBeRefusedForAMaturityPeriodAlreadyListed() {
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(
+                "INSERT INTO interest_rate (id, maturity_period, interest_rate, last_update) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), 10, 4.0, new Timestamp(System.currentTimeMillis())));
+    }
+
+    @Test
+    void upsertRates_ShouldPublishNewRatesAfterCommit() {
+        interestRateSheetService.upsertRates(List.of(
+                new InterestRateUpdate(10, 4.5),
+                new InterestRateUpdate(25, 6.5)));
+
+        assertEquals(4.5, interestRateService.getRateSnapshot().rate(10));
+        assertEquals(6.5, interestRateService.getRateSnapshot().rate(25));
+    }
+
+    @Test
+    void upsertRates_ShouldRejectDuplicateMaturityPeriodsWithoutWriting() {
+        List<InterestRateUpdate> sheet = List.of(
+                new InterestRateUpdate(10, 4.5),
+                new InterestRateUpdate(10, 4.0));
+
+        assertThrows(InvalidRateSheetException.class, () -> interestRateSheetService.upsertRates(sheet));
+        assertEquals(5.0, jdbcTemplate.queryForObject(
+                "SELECT interest_rate FROM interest_rate WHERE maturity_period = 10", Double.class));
+        assertEquals(5.0, interestRateService.getRateSnapshot().rate(10));
+    }
+
+    @Test
+    void upsertRates_ShouldRejectInvalidRows() {
+        assertThrows(InvalidRateSheetException.class, () -> interestRateSheetService.upsertRates(Collections.emptyList()));
+        assertThrows(InvalidRateSheetException.class,
+                () -> interestRateSheetService.upsertRates(List.of(new InterestRateUpdate(0, 4.5))));
+        assertThrows(InvalidRateSheetException.class,
+                () -> interestRateSheetService.upsertRates(List.of(new InterestRateUpdate(10, -1.0))));
+        assertThrows(InvalidRateSheetException.class,
+                () -> interestRateSheetService.upsertRates(List.of(new InterestRateUpdate(10, Double.NaN))));
+    }
+}
\ No newline at end of file
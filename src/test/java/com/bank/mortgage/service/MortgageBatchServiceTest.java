@@ -0,0 +1,161 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.exception.InvalidBatchRequestException;
+import com.bank.mortgage.exception.MaxLoanExceededException;
+import com.bank.mortgage.metrics.MortgageMetrics;
+import com.bank.mortgage.model.MortgageCheckRequest;
+import com.bank.mortgage.model.MortgageCheckResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class MortgageBatchServiceTest {
+
+    @Mock
+    private MortgageService mortgageService;
+
+    @Mock
+    private InterestRateService interestRateService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MortgageBatchService mortgageBatchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mortgageBatchService = new MortgageBatchService(mortgageService, interestRateService, objectMapper,
+                new MortgageMetrics(meterRegistry));
+        when(interestRateService.getRateSnapshot()).thenReturn(InterestRateSnapshot.EMPTY);
+        when(mortgageService.calculateMortgage(any(MortgageCheckRequest.class), any(InterestRateSnapshot.class)))
+                .thenReturn(new MortgageCheckResponse(true, 1342.05));
+        when(mortgageService.calculateMortgage(argThat(request -> request != null && request.getLoanValue() > 1000000d), any(InterestRateSnapshot.class)))
+                .thenThrow(new MaxLoanExceededException());
+    }
+
+    @Test
+    void whenProcessJsonArray_thenReturnsOneResultPerItem() throws IOException {
+        String body = "[" + item(250000) + "," + item(5000000) + "," + item(100000) + "]";
+
+        JsonNode results = objectMapper.readTree(processJsonArray(body));
+
+        assertEquals(3, results.size());
+        assertEquals(0, results.get(0).get("index").asInt());
+        assertTrue(results.get(0).get("response").get("feasible").asBoolean());
+        assertEquals(1342.05, results.get(0).get("response").get("monthlyCost").asDouble());
+        assertEquals("MAX_LOAN_EXCEEDED", results.get(1).get("error").get("code").asText());
+        assertFalse(results.get(1).has("response"));
+        assertTrue(results.get(2).get("response").get("feasible").asBoolean());
+        verify(interestRateService, times(1)).getRateSnapshot();
+        assertEquals(1, rejections("MAX_LOAN_EXCEEDED"));
+    }
+
+    @Test
+    void whenJsonArrayItemCannotBeBound_thenOnlyThatItemFails() throws IOException {
+        String body = "[" + item(250000) + ",{\"income\":\"abc\",\"nested\":{\"a\":[1,2]}},42," + item(100000) + "]";
+
+        JsonNode results = objectMapper.readTree(processJsonArray(body));
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).has("response"));
+        assertEquals("INVALID_BATCH_ITEM", results.get(1).get("error").get("code").asText());
+        assertEquals("INVALID_BATCH_ITEM", results.get(2).get("error").get("code").asText());
+        assertTrue(results.get(3).has("response"));
+        assertEquals(2, meterRegistry.get(MortgageMetrics.CLIENT_ERRORS_COUNTER).tag("reason", "INVALID_BATCH_ITEM").counter().count());
+    }
+
+    @Test
+    void whenJsonArrayItemLacksAField_thenOnlyThatItemFails() throws IOException {
+        String body = "[{\"income\":750000.10,\"loanValue\":250000,\"homeValue\":6000000},"
+                + "{\"income\":750000.10,\"loanValue\":250000.05,\"homeValue\":6000000,\"maturityPeriod\":10}]";
+
+        JsonNode results = objectMapper.readTree(processJsonArray(body));
+
+        assertEquals(2, results.size());
+        assertEquals("INVALID_BATCH_ITEM", results.get(0).get("error").get("code").asText());
+        assertTrue(results.get(1).has("response"));
+        verify(mortgageService).calculateMortgage(eq(MortgageCheckRequest.ofCents(75_000_010, 25_000_005, 600_000_000, 10)),
+                any(InterestRateSnapshot.class));
+    }
+
+    @Test
+    void whenJsonArrayIsTruncated_thenResultArrayIsStillClosed() throws IOException {
+        String body = "[" + item(250000) + ",{\"income\":";
+
+        JsonNode results = objectMapper.readTree(processJsonArray(body));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).has("response"));
+        assertEquals("INVALID_BATCH_ITEM", results.get(1).get("error").get("code").asText());
+    }
+
+    @Test
+    void whenProcessCborArray_thenReturnsCborResults() throws IOException {
+        ObjectMapper cbor = new CBORMapper();
+        List<JsonNode> items = List.of(objectMapper.readTree(item(250000)), objectMapper.readTree(item(5000000)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, mortgageBatchService.processArray(new ByteArrayInputStream(cbor.writeValueAsBytes(items)), out, cbor));
+
+        JsonNode results = cbor.readTree(out.toByteArray());
+        assertEquals(2, results.size());
+        assertEquals(1342.05, results.get(0).get("response").get("monthlyCost").asDouble());
+        assertEquals("MAX_LOAN_EXCEEDED", results.get(1).get("error").get("code").asText());
+    }
+
+    @Test
+    void whenBodyIsNotAnArray_thenThrowsInvalidBatchRequestException() {
+        assertThrows(InvalidBatchRequestException.class, () -> processJsonArray(item(250000)));
+    }
+
+    @Test
+    void whenProcessNdjson_thenReturnsOneLinePerItem() throws IOException {
+        String body = item(250000) + "\n\n" + "not json" + "\n" + item(5000000) + "\n";
+
+        String[] lines = processNdjson(body).split("\n");
+
+        assertEquals(3, lines.length);
+        assertTrue(objectMapper.readTree(lines[0]).get("response").get("feasible").asBoolean());
+        assertEquals("INVALID_BATCH_ITEM", objectMapper.readTree(lines[1]).get("error").get("code").asText());
+        assertEquals(2, objectMapper.readTree(lines[2]).get("index").asInt());
+        assertEquals("MAX_LOAN_EXCEEDED", objectMapper.readTree(lines[2]).get("error").get("code").asText());
+    }
+
+    private String processJsonArray(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mortgageBatchService.processJsonArray(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString("UTF-8");
+    }
+
+    private String processNdjson(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mortgageBatchService.processNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString("UTF-8");
+    }
+
+    private static String item(double loanValue) {
+        return "{\"income\":750000,\"loanValue\":" + loanValue + ",\"homeValue\":6000000,\"maturityPeriod\":10}";
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get(MortgageMetrics.REJECTIONS_COUNTER).tag("reason", reason).counter().count();
+    }
+}
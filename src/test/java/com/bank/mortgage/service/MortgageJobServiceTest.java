@@ -0,0 +1,161 @@
+package com.bank.mortgage.service;
+
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.exception.InvalidJobFileException;
+import com.bank.mortgage.exception.JobNotFoundException;
+import com.bank.mortgage.exception.MaxLoanExceededException;
+import com.bank.mortgage.metrics.MortgageMetrics;
+import com.bank.mortgage.model.MortgageCheckRequest;
+import com.bank.mortgage.model.MortgageCheckResponse;
+import com.bank.mortgage.model.MortgageJobStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+class MortgageJobServiceTest {
+
+    @Mock
+    private MortgageService mortgageService;
+
+    @Mock
+    private InterestRateService interestRateService;
+
+    @TempDir
+    Path jobDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MortgageJobService mortgageJobService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        MortgageBatchService mortgageBatchService = new MortgageBatchService(mortgageService, interestRateService, objectMapper,
+                new MortgageMetrics(new SimpleMeterRegistry()));
+        // no retention, so a finished job is removed by the next eviction
+        mortgageJobService = new MortgageJobService(mortgageBatchService, interestRateService, objectMapper,
+                jobDirectory.toString(), 3, 2, 1, Duration.ZERO, false);
+        when(interestRateService.getRateSnapshot()).thenReturn(InterestRateSnapshot.EMPTY);
+        when(mortgageService.calculateMortgage(any(MortgageCheckRequest.class), any(InterestRateSnapshot.class)))
+                .thenReturn(new MortgageCheckResponse(true, 1342.05));
+        when(mortgageService.calculateMortgage(argThat(request -> request != null && request.getLoanValue() > 1000000d), any(InterestRateSnapshot.class)))
+                .thenThrow(new MaxLoanExceededException());
+    }
+
+    @AfterEach
+    void tearDown() {
+        mortgageJobService.shutdown();
+    }
+
+    @Test
+    void whenSubmitCsvFile_thenAllRowsAreProcessed() throws Exception {
+        StringBuilder csv = new StringBuilder("maturityPeriod,income,loanValue,homeValue\n");
+        for (int i = 0; i < 10; i++) {
+            csv.append("10,750000,").append(i == 4 ? 5000000 : 250000).append(",6000000\n");
+        }
+        csv.append("10,abc,250000,6000000\n");
+
+        MortgageJobStatus status = awaitCompletion(mortgageJobService.submit(file("rates.csv", csv.toString())));
+
+        assertEquals(MortgageJobStatus.State.COMPLETED, status.getState());
+        assertEquals(11, status.getItemsRead());
+        assertEquals(11, status.getItemsProcessed());
+        assertEquals(2, status.getItemsFailed());
+        assertNotNull(status.getCompletedAt());
+
+        List<String> results = Files.readAllLines(mortgageJobService.getResult(status.getId()));
+        assertEquals(11, results.size());
+        for (String line : results) {
+            JsonNode result = objectMapper.readTree(line);
+            int index = result.get("index").asInt();
+            if (index == 4) {
+                assertEquals("MAX_LOAN_EXCEEDED", result.get("error").get("code").asText());
+            } else if (index == 10) {
+                assertEquals("INVALID_BATCH_ITEM", result.get("error").get("code").asText());
+            } else {
+                assertTrue(result.get("response").get("feasible").asBoolean());
+            }
+        }
+    }
+
+    @Test
+    void whenSubmitNdjsonFile_thenAllLinesAreProcessed() throws Exception {
+        String ndjson = "{\"income\":750000,\"loanValue\":250000,\"homeValue\":6000000,\"maturityPeriod\":10}\n"
+                + "\n"
+                + "{\"income\":750000,\"loanValue\":5000000,\"homeValue\":6000000,\"maturityPeriod\":10}\n";
+
+        MortgageJobStatus status = awaitCompletion(mortgageJobService.submit(file("rates.ndjson", ndjson)));
+
+        assertEquals(MortgageJobStatus.State.COMPLETED, status.getState());
+        assertEquals(2, status.getItemsProcessed());
+        assertEquals(1, status.getItemsFailed());
+        assertEquals(2, Files.readAllLines(mortgageJobService.getResult(status.getId())).size());
+    }
+
+    @Test
+    void whenCsvHeaderIsMissingColumn_thenJobFails() throws Exception {
+        MortgageJobStatus status = awaitCompletion(mortgageJobService.submit(file("rates.csv", "income,loanValue\n1,2\n")));
+
+        assertEquals(MortgageJobStatus.State.FAILED, status.getState());
+        assertNotNull(status.getError());
+        assertFalse(Files.exists(jobDirectory.resolve(status.getId() + ".ndjson")));
+    }
+
+    @Test
+    void whenRetentionHasPassed_thenJobAndResultFileAreRemoved() throws Exception {
+        MortgageJobStatus status = awaitCompletion(mortgageJobService.submit(file("rates.csv",
+                "maturityPeriod,income,loanValue,homeValue\n10,750000,250000,6000000\n")));
+        Path result = mortgageJobService.getResult(status.getId());
+        assertTrue(Files.exists(result));
+
+        mortgageJobService.evictExpiredJobs();
+
+        assertFalse(Files.exists(result));
+        assertThrows(JobNotFoundException.class, () -> mortgageJobService.getStatus(status.getId()));
+    }
+
+    @Test
+    void whenFileTypeIsUnsupported_thenThrowsInvalidJobFileException() {
+        assertThrows(InvalidJobFileException.class, () -> mortgageJobService.submit(file("rates.xlsx", "x")));
+    }
+
+    @Test
+    void whenJobIsUnknown_thenThrowsJobNotFoundException() {
+        assertThrows(JobNotFoundException.class, () -> mortgageJobService.getStatus("unknown"));
+    }
+
+    private MortgageJobStatus awaitCompletion(MortgageJobStatus submitted) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            MortgageJobStatus status = mortgageJobService.getStatus(submitted.getId());
+            if (status.getState() == MortgageJobStatus.State.COMPLETED || status.getState() == MortgageJobStatus.State.FAILED) {
+                return status;
+            }
+            Thread.sleep(25);
+        }
+        fail("Job did not complete");
+        return null;
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, null, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
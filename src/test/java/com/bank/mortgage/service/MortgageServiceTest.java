@@ -1,20 +1,31 @@
 package com.bank.mortgage.service;
 
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.cache.InterestRatesRefreshedEvent;
+import com.bank.mortgage.cache.QuoteCache;
 import com.bank.mortgage.exception.HomeValueExceededException;
 import com.bank.mortgage.exception.InterestRateNotFoundException;
+import com.bank.mortgage.exception.InvalidMortgageCheckRequestException;
 import com.bank.mortgage.exception.MaxLoanExceededException;
 import com.bank.mortgage.exception.MortgageCalculationException;
+import com.bank.mortgage.exception.ServiceOverloadedException;
+import com.bank.mortgage.limit.AdaptiveConcurrencyLimiter;
+import com.bank.mortgage.logging.RequestLogSampler;
+import com.bank.mortgage.metrics.MortgageMetrics;
 import com.bank.mortgage.model.InterestRate;
 import com.bank.mortgage.model.MortgageCheckRequest;
 import com.bank.mortgage.model.MortgageCheckResponse;
 import com.bank.mortgage.strategy.MortgageCalculatorStrategy;
+import com.bank.mortgage.util.ExceptionMessage;
 import com.bank.mortgage.util.MortgageConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
@@ -27,7 +38,9 @@ class MortgageServiceTest {
     @Mock
     private MortgageCalculatorStrategy mortgageCalculator;
 
-    @InjectMocks
+    @Mock
+    private MortgageMetrics mortgageMetrics;
+
     private MortgageService mortgageService;
 
     private MortgageCheckRequest request;
@@ -36,6 +49,8 @@ class MortgageServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        mortgageService = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), new QuoteCache(false, 0), unlimited(), MortgageService.RejectionMode.EXCEPTION);
         request = new MortgageCheckRequest();
         request.setIncome(750000d);
         request.setMaturityPeriod(30);
@@ -49,14 +64,76 @@ class MortgageServiceTest {
 
     @Test
     void whenCalculateMortgageWithValidRequest_thenReturnsMortgageCheckResponse() {
-        when(interestRateService.getInterestRate(anyInt())).thenReturn(interestRate);
+        when(interestRateService.getRate(anyInt())).thenReturn(5.0);
         when(mortgageCalculator.calculateMonthlyCost(anyDouble(), anyDouble(), anyInt())).thenReturn(1342.05);
+        when(mortgageMetrics.sampleStages()).thenReturn(true);
 
         MortgageCheckResponse response = mortgageService.calculateMortgage(request);
 
         assertNotNull(response);
         assertTrue(response.isFeasible());
         assertEquals(1342.05, response.getMonthlyCost());
+        verify(mortgageMetrics).recordCheck(eq(MortgageMetrics.Outcome.ACCEPTED), anyLong());
+        verify(mortgageMetrics).recordRateLookup(anyLong());
+        verify(mortgageMetrics).recordCalculation(anyLong());
+    }
+
+    @Test
+    void whenQuoteCacheEnabled_thenIdenticalRequestIsPricedOnceUntilRatesChange() {
+        QuoteCache quoteCache = new QuoteCache(true, 100);
+        mortgageService = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), quoteCache, unlimited(), MortgageService.RejectionMode.EXCEPTION);
+        InterestRateSnapshot rates = InterestRateSnapshot.of(Collections.singletonList(interestRate));
+        when(interestRateService.getRateSnapshot()).thenReturn(rates);
+        when(interestRateService.getRate(30)).thenReturn(5.0);
+        when(mortgageCalculator.calculateMonthlyCost(25000d, 5.0, 30)).thenReturn(134.21);
+
+        MortgageCheckRequest identical = new MortgageCheckRequest(750000d, 25000d, 300000d, 30);
+        assertEquals(134.21, mortgageService.calculateMortgage(request).getMonthlyCost());
+        assertEquals(134.21, mortgageService.calculateMortgage(identical).getMonthlyCost());
+        verify(mortgageCalculator, times(1)).calculateMonthlyCost(25000d, 5.0, 30);
+        verify(mortgageMetrics, times(2)).recordCheck(eq(MortgageMetrics.Outcome.ACCEPTED), anyLong());
+
+        quoteCache.onInterestRatesRefreshed(new InterestRatesRefreshedEvent(rates));
+        mortgageService.calculateMortgage(identical);
+        verify(mortgageCalculator, times(2)).calculateMonthlyCost(25000d, 5.0, 30);
+    }
+
+    @Test
+    void whenQuoteCacheEnabledAndRatesChange_thenCachedCostIsNotServed() {
+        QuoteCache quoteCache = new QuoteCache(true, 100);
+        mortgageService = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), quoteCache, unlimited(), MortgageService.RejectionMode.EXCEPTION);
+        InterestRate raised = new InterestRate(null, 30, 6.0, null);
+        when(interestRateService.getRateSnapshot())
+                .thenReturn(InterestRateSnapshot.of(Collections.singletonList(interestRate)))
+                .thenReturn(InterestRateSnapshot.of(Collections.singletonList(raised)));
+        when(interestRateService.getRate(30)).thenReturn(5.0, 6.0);
+        when(mortgageCalculator.calculateMonthlyCost(25000d, 5.0, 30)).thenReturn(134.21);
+        when(mortgageCalculator.calculateMonthlyCost(25000d, 6.0, 30)).thenReturn(149.89);
+
+        assertEquals(134.21, mortgageService.calculateMortgage(request).getMonthlyCost());
+        assertEquals(149.89, mortgageService.calculateMortgage(request).getMonthlyCost());
+    }
+
+    @Test
+    void whenCalculateMortgageWithSnapshot_thenUsesSnapshotRate() {
+        InterestRateSnapshot rates = InterestRateSnapshot.of(Collections.singletonList(interestRate));
+        when(mortgageCalculator.calculateMonthlyCost(25000d, 5.0, 30)).thenReturn(134.21);
+
+        MortgageCheckResponse response = mortgageService.calculateMortgage(request, rates);
+
+        assertTrue(response.isFeasible());
+        assertEquals(134.21, response.getMonthlyCost());
+        verifyNoInteractions(interestRateService);
+    }
+
+    @Test
+    void whenCalculateMortgageWithSnapshotMissingRate_thenThrowsInterestRateNotFoundException() {
+        assertThrows(
+                InterestRateNotFoundException.class,
+                () -> mortgageService.calculateMortgage(request, InterestRateSnapshot.EMPTY)
+        );
     }
 
     @Test
@@ -69,6 +146,48 @@ class MortgageServiceTest {
         );
 
         assertNotNull(exception);
+        assertEquals(0, exception.getStackTrace().length);
+        verify(mortgageMetrics).recordCheck(eq(MortgageMetrics.Outcome.REJECTED), anyLong());
+    }
+
+    @Test
+    void whenLoanIsExactlyFourTimesIncome_thenItIsAcceptedAndOneCentMoreIsRejected() {
+        when(interestRateService.getRate(30)).thenReturn(5.0);
+        request = MortgageCheckRequest.ofCents(6_250_003, 25_000_012, 30_000_000, 30);
+
+        assertTrue(mortgageService.calculateMortgage(request).isFeasible());
+
+        request.setLoanValueCents(25_000_013);
+        assertThrows(MaxLoanExceededException.class, () -> mortgageService.calculateMortgage(request));
+    }
+
+    @Test
+    void whenRejectionModeIsResponseAndMaxLoanExceeded_thenReturnsNotFeasibleWithReasonCode() {
+        mortgageService = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), new QuoteCache(false, 0), unlimited(), MortgageService.RejectionMode.RESPONSE);
+        request.setLoanValue(350000000d);
+
+        MortgageCheckResponse response = mortgageService.calculateMortgage(request);
+
+        assertFalse(response.isFeasible());
+        assertEquals("MAX_LOAN_EXCEEDED", response.getReasonCode());
+        verify(mortgageMetrics).rejected(ExceptionMessage.MAX_LOAN_EXCEEDED);
+        verify(mortgageMetrics).recordCheck(eq(MortgageMetrics.Outcome.REJECTED), anyLong());
+        verifyNoInteractions(interestRateService);
+    }
+
+    @Test
+    void whenRejectionModeIsResponseAndHomeValueExceededInBatch_thenReturnsNotFeasibleWithReasonCode() {
+        mortgageService = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), new QuoteCache(false, 0), unlimited(), MortgageService.RejectionMode.RESPONSE);
+        request.setLoanValue(800000d);
+
+        MortgageCheckResponse response = mortgageService.calculateMortgage(request,
+                InterestRateSnapshot.of(Collections.singletonList(interestRate)));
+
+        assertFalse(response.isFeasible());
+        assertEquals("HOME_VALUE_EXCEEDED", response.getReasonCode());
+        verify(mortgageMetrics).rejected(ExceptionMessage.HOME_VALUE_EXCEEDED);
     }
 
     @Test
@@ -85,19 +204,84 @@ class MortgageServiceTest {
 
     @Test
     void whenCalculateMortgageWithInterestRateNotFound_thenThrowsInterestRateNotFoundException() {
-        when(interestRateService.getInterestRate(anyInt())).thenThrow(new InterestRateNotFoundException("Interest rate not found"));
+        when(interestRateService.getRate(anyInt())).thenThrow(new InterestRateNotFoundException("Interest rate not found"));
 
         InterestRateNotFoundException exception = assertThrows(
                 InterestRateNotFoundException.class,
                 () -> mortgageService.calculateMortgage(request)
         );
 
-        assertEquals("Interest rate not found", exception.getMessage());
+        assertEquals(ExceptionMessage.INTEREST_RATE_NOT_FOUND.getMessage(), exception.getMessage());
+    }
+
+    @Test
+    void whenNoRateIsListedForMaturityPeriodInRange_thenRejectsWithInterestRateNotFound() {
+        mortgageService = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), new QuoteCache(false, 0), unlimited(), MortgageService.RejectionMode.RESPONSE);
+        // an exact-lookup snapshot listing only the 30 year rate
+        InterestRateSnapshot rates = InterestRateSnapshot.of(Collections.singletonList(interestRate));
+        when(interestRateService.getRate(15)).thenThrow(
+                new InterestRateNotFoundException(ExceptionMessage.INTEREST_RATE_FETCH_ERROR.getMessage()));
+        request.setMaturityPeriod(15);
+
+        for (MortgageCheckResponse response : new MortgageCheckResponse[]{
+                mortgageService.calculateMortgage(request), mortgageService.calculateMortgage(request, rates)}) {
+            assertFalse(response.isFeasible());
+            assertEquals("INTEREST_RATE_NOT_FOUND", response.getReasonCode());
+        }
+        verify(mortgageMetrics).recordCheck(eq(MortgageMetrics.Outcome.REJECTED), anyLong());
+        verify(mortgageMetrics, times(2)).rejected(ExceptionMessage.INTEREST_RATE_NOT_FOUND);
+        verifyNoInteractions(mortgageCalculator);
+    }
+
+    @Test
+    void whenMaturityPeriodIsOutOfRange_thenThrowsInterestRateNotFoundWithoutLookup() {
+        for (int maturityPeriod : new int[]{0, -5, MortgageConstants.MAX_MATURITY_PERIOD + 1, 200_000_000, Integer.MIN_VALUE}) {
+            request.setMaturityPeriod(maturityPeriod);
+
+            assertThrows(InterestRateNotFoundException.class, () -> mortgageService.calculateMortgage(request));
+        }
+        verify(mortgageMetrics, times(5)).recordCheck(eq(MortgageMetrics.Outcome.REJECTED), anyLong());
+        verifyNoInteractions(interestRateService, mortgageCalculator);
+    }
+
+    @Test
+    void whenAnAmountIsNotPositive_thenThrowsInvalidMortgageCheckRequestInEitherRejectionMode() {
+        MortgageService responseMode = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), new QuoteCache(false, 0), unlimited(), MortgageService.RejectionMode.RESPONSE);
+        InterestRateSnapshot rates = InterestRateSnapshot.of(Collections.singletonList(interestRate));
+
+        for (MortgageCheckRequest invalid : new MortgageCheckRequest[]{
+                MortgageCheckRequest.ofCents(0, 2_500_000, 30_000_000, 30),
+                MortgageCheckRequest.ofCents(75_000_000, -1, 30_000_000, 30),
+                MortgageCheckRequest.ofCents(-75_000_000, -2_500_000, -30_000_000, 30)}) {
+            assertThrows(InvalidMortgageCheckRequestException.class, () -> mortgageService.calculateMortgage(invalid));
+            assertThrows(InvalidMortgageCheckRequestException.class, () -> responseMode.calculateMortgage(invalid));
+            assertThrows(InvalidMortgageCheckRequestException.class, () -> responseMode.calculateMortgage(invalid, rates));
+        }
+        verifyNoInteractions(interestRateService, mortgageCalculator);
+    }
+
+    @Test
+    void whenMaturityPeriodIsOutOfRangeInBatch_thenItemIsRejectedBeforeTheCurveIsRead() {
+        mortgageService = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), new QuoteCache(false, 0), unlimited(), MortgageService.RejectionMode.RESPONSE);
+        InterestRateSnapshot rates = InterestRateSnapshot.of(Collections.singletonList(interestRate));
+
+        for (int maturityPeriod : new int[]{0, -5, 200_000_000}) {
+            request.setMaturityPeriod(maturityPeriod);
+            MortgageCheckResponse response = mortgageService.calculateMortgage(request, rates);
+
+            assertFalse(response.isFeasible());
+            assertEquals("INTEREST_RATE_NOT_FOUND", response.getReasonCode());
+        }
+        verify(mortgageMetrics, times(3)).rejected(ExceptionMessage.INTEREST_RATE_NOT_FOUND);
+        verifyNoInteractions(interestRateService, mortgageCalculator);
     }
 
     @Test
     void whenCalculateMortgageWithUnexpectedException_thenThrowsMortgageCalculationException() {
-        when(interestRateService.getInterestRate(anyInt())).thenReturn(interestRate);
+        when(interestRateService.getRate(anyInt())).thenReturn(5.0);
         when(mortgageCalculator.calculateMonthlyCost(anyDouble(), anyDouble(), anyInt())).thenThrow(new RuntimeException("Unexpected error"));
 
         MortgageCalculationException exception = assertThrows(
@@ -108,4 +292,39 @@ class MortgageServiceTest {
         assertNotNull(exception);
         assertEquals("java.lang.RuntimeException: Unexpected error", exception.getCause().toString());
     }
+
+    @Test
+    void whenConcurrencyLimitReached_thenThrowsServiceOverloadedWithoutPricing() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 1, 1, 1,
+                Duration.ofMillis(250), 0.9, Duration.ofSeconds(2));
+        mortgageService = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), new QuoteCache(false, 0), limiter, MortgageService.RejectionMode.EXCEPTION);
+        assertTrue(limiter.tryAcquire());
+
+        ServiceOverloadedException exception = assertThrows(
+                ServiceOverloadedException.class,
+                () -> mortgageService.calculateMortgage(request)
+        );
+
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        verifyNoInteractions(interestRateService, mortgageCalculator);
+    }
+
+    @Test
+    void whenCalculateMortgage_thenConcurrencySlotIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 1, 1, 1,
+                Duration.ofMillis(250), 0.9, Duration.ofSeconds(1));
+        mortgageService = new MortgageService(interestRateService, mortgageCalculator, mortgageMetrics,
+                new RequestLogSampler(1.0, 1.0, 1.0), new QuoteCache(false, 0), limiter, MortgageService.RejectionMode.EXCEPTION);
+        request.setLoanValue(800000d);
+
+        assertThrows(HomeValueExceededException.class, () -> mortgageService.calculateMortgage(request));
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getLimit());
+    }
+
+    private static AdaptiveConcurrencyLimiter unlimited() {
+        return new AdaptiveConcurrencyLimiter(false, 20, 4, 200, Duration.ofMillis(250), 0.9, Duration.ofSeconds(1));
+    }
 }
@@ -0,0 +1,95 @@
+package com.bank.mortgage.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnnuityBatchKernelTest {
+
+    /**
+     * Largest relative difference allowed between the vectorized and the scalar monthly cost.
+     */
+    private static final double RELATIVE_TOLERANCE = 1e-12;
+
+    private final AnnuityBatchKernel scalarKernel = new ScalarAnnuityBatchKernel();
+    private final AnnuityBatchKernel vectorKernel = new VectorAnnuityBatchKernel();
+
+    @Test
+    void whenVectorModuleIsPresent_thenVectorKernelIsSelected() {
+        assertInstanceOf(VectorAnnuityBatchKernel.class, StandardMortgageCalculator.loadBatchKernel());
+    }
+
+    @Test
+    void whenBatchIsNotAMultipleOfTheLaneCount_thenVectorKernelMatchesScalarKernel() {
+        for (int length : new int[]{0, 1, VectorAnnuityBatchKernel.lanes() - 1, VectorAnnuityBatchKernel.lanes() * 7 + 3, 10_001}) {
+            assertKernelsAgree(length, new Random(length));
+        }
+    }
+
+    @Test
+    void whenInterestRateIsZero_thenVectorKernelRepaysLoanInEqualParts() {
+        int length = VectorAnnuityBatchKernel.lanes() * 2;
+        double[] loanValues = new double[length];
+        double[] interestRates = new double[length];
+        int[] maturityPeriods = new int[length];
+        double[] monthlyCosts = new double[length];
+        for (int i = 0; i < length; i++) {
+            loanValues[i] = 120000;
+            interestRates[i] = i % 2 == 0 ? 0 : 4.5;
+            maturityPeriods[i] = 10;
+        }
+
+        vectorKernel.calculate(loanValues, interestRates, maturityPeriods, monthlyCosts);
+
+        for (int i = 0; i < length; i += 2) {
+            assertEquals(1000, monthlyCosts[i], 0.0001);
+        }
+        assertEquals(1243.66, monthlyCosts[1], 0.01);
+    }
+
+    @Test
+    void whenCalculatingMonthlyCosts_thenMatchesScalarCalculation() {
+        StandardMortgageCalculator calculator = new StandardMortgageCalculator();
+        double[] loanValues = {250000, 180000, 0, 320000, 90000, 500000, 275000, 150000, 60000};
+        double[] interestRates = {5, 3.5, 4, 0, 2.75, 6.1, 3.9, 4.2, 1.5};
+        int[] maturityPeriods = {30, 20, 25, 10, 15, 30, 20, 10, 5};
+        double[] monthlyCosts = new double[loanValues.length];
+
+        calculator.calculateMonthlyCosts(loanValues, interestRates, maturityPeriods, monthlyCosts);
+
+        for (int i = 0; i < loanValues.length; i++) {
+            double expected = calculator.calculateMonthlyCost(loanValues[i], interestRates[i], maturityPeriods[i]);
+            assertEquals(expected, monthlyCosts[i], Math.abs(expected) * RELATIVE_TOLERANCE);
+        }
+    }
+
+    @Test
+    void whenColumnLengthsDiffer_thenThrowsIllegalArgumentException() {
+        StandardMortgageCalculator calculator = new StandardMortgageCalculator();
+
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateMonthlyCosts(
+                new double[2], new double[2], new int[1], new double[2]));
+    }
+
+    private void assertKernelsAgree(int length, Random random) {
+        double[] loanValues = new double[length];
+        double[] interestRates = new double[length];
+        int[] maturityPeriods = new int[length];
+        for (int i = 0; i < length; i++) {
+            loanValues[i] = 10000 + random.nextInt(990000);
+            interestRates[i] = i % 11 == 0 ? 0 : random.nextInt(1000) / 100.0;
+            maturityPeriods[i] = 1 + random.nextInt(40);
+        }
+        double[] expected = new double[length];
+        double[] actual = new double[length];
+
+        scalarKernel.calculate(loanValues, interestRates, maturityPeriods, expected);
+        vectorKernel.calculate(loanValues, interestRates, maturityPeriods, actual);
+
+        for (int i = 0; i < length; i++) {
+            assertEquals(expected[i], actual[i], expected[i] * RELATIVE_TOLERANCE, "loan " + i + " of " + length);
+        }
+    }
+}
\ No newline at end of file
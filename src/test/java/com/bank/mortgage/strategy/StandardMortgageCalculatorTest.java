@@ -1,12 +1,24 @@
 package com.bank.mortgage.strategy;
 
+import com.bank.mortgage.cache.InterestRateSnapshot;
+import com.bank.mortgage.cache.InterestRatesRefreshedEvent;
+import com.bank.mortgage.model.AmortizationSummary;
+import com.bank.mortgage.model.InterestRate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class StandardMortgageCalculatorTest {
 
+    /**
+     * Largest relative difference allowed between a tabulated annuity factor and the formula.
+     */
+    private static final double ANNUITY_FACTOR_TOLERANCE = 1e-12;
+
     private StandardMortgageCalculator standardMortgageCalculator;
 
     @BeforeEach
@@ -36,6 +48,76 @@ class StandardMortgageCalculatorTest {
         assertEquals(0, monthlyCost, 0.01);
     }
 
+    @Test
+    void whenCalculateMonthlyCostWithZeroInterestRate_thenRepaysLoanInEqualParts() {
+        double monthlyCost = standardMortgageCalculator.calculateMonthlyCost(120000, 0, 10);
+
+        assertEquals(1000, monthlyCost, 0.0001);
+    }
+
+    @Test
+    void whenRatesAreTabulated_thenMonthlyCostMatchesFormulaWithinTolerance() {
+        standardMortgageCalculator.onInterestRatesRefreshed(new InterestRatesRefreshedEvent(
+                InterestRateSnapshot.of(Arrays.asList(rate(10, 5.0), rate(20, 6.0), rate(30, 0.0)))));
+
+        assertEquals(1060.655152, standardMortgageCalculator.calculateMonthlyCost(100000, 5.0, 10), 0.000001);
+        for (double loanValue : new double[]{1, 250000, 1234567.89}) {
+            assertEquals(formula(loanValue, 5.0, 10), standardMortgageCalculator.calculateMonthlyCost(loanValue, 5.0, 10), loanValue * ANNUITY_FACTOR_TOLERANCE);
+            assertEquals(formula(loanValue, 6.0, 20), standardMortgageCalculator.calculateMonthlyCost(loanValue, 6.0, 20), loanValue * ANNUITY_FACTOR_TOLERANCE);
+            assertEquals(loanValue / 360, standardMortgageCalculator.calculateMonthlyCost(loanValue, 0.0, 30), loanValue * ANNUITY_FACTOR_TOLERANCE);
+        }
+    }
+
+    @Test
+    void whenPairIsNotTabulated_thenFallsBackToFormula() {
+        standardMortgageCalculator.onInterestRatesRefreshed(new InterestRatesRefreshedEvent(
+                InterestRateSnapshot.of(Collections.singletonList(rate(10, 5.0)))));
+
+        // same maturity at a different rate, and a maturity that is not in the table
+        assertEquals(formula(250000, 5.5, 10), standardMortgageCalculator.calculateMonthlyCost(250000, 5.5, 10), 250000 * ANNUITY_FACTOR_TOLERANCE);
+        assertEquals(formula(250000, 5.0, 25), standardMortgageCalculator.calculateMonthlyCost(250000, 5.0, 25), 250000 * ANNUITY_FACTOR_TOLERANCE);
+    }
+
+    @Test
+    void whenGenerateSchedule_thenRowsAmortizeLoanToZero() {
+        double loanValue = 250000;
+        double[] totals = new double[3];
+        int[] rows = new int[1];
+
+        standardMortgageCalculator.generateSchedule(loanValue, 5, 30, (period, payment, interest, principal, remainingBalance) -> {
+            rows[0]++;
+            assertEquals(rows[0], period);
+            assertEquals(payment, interest + principal, 0.000001);
+            if (period == 1) {
+                assertEquals(loanValue * 0.05 / 12, interest, 0.000001);
+                assertEquals(1342.05, payment, 0.01);
+            }
+            totals[0] += payment;
+            totals[1] += interest;
+            totals[2] = remainingBalance;
+        });
+
+        AmortizationSummary summary = standardMortgageCalculator.summarizeSchedule(loanValue, 5, 30);
+        assertEquals(360, rows[0]);
+        assertEquals(0, totals[2], 0.0);
+        assertEquals(360, summary.getNumberOfPayments());
+        assertEquals(summary.getTotalPaid(), totals[0], 0.01);
+        assertEquals(summary.getTotalInterest(), totals[1], 0.01);
+        assertEquals(1342.05, summary.getMonthlyPayment(), 0.01);
+    }
+
+    private static double formula(double loanValue, double interestRate, int maturityPeriod) {
+        double monthlyRate = interestRate / 100 / 12;
+        return loanValue * monthlyRate / (1 - Math.pow(1 + monthlyRate, -maturityPeriod * 12));
+    }
+
+    private static InterestRate rate(int maturityPeriod, double interestRate) {
+        InterestRate rate = new InterestRate();
+        rate.setMaturityPeriod(maturityPeriod);
+        rate.setInterestRate(interestRate);
+        return rate;
+    }
+
 
 
 }
@@ -0,0 +1,44 @@
+package com.bank.mortgage.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentsTest {
+
+    @Test
+    void whenTextIsPlainDecimal_thenItIsParsedToCentsRoundingHalfUp() {
+        assertEquals(29, parse("0.29"));
+        assertEquals(50, parse(".5"));
+        assertEquals(7_500_000, parse("75000"));
+        assertEquals(101, parse("1.005"));
+        assertEquals(100, parse("1.0049999"));
+        assertEquals(-101, parse("-1.005"));
+    }
+
+    @Test
+    void whenTextIsNotPlainDecimal_thenParseReportsInvalid() {
+        assertEquals(Cents.INVALID, parse("2.5E5"));
+        assertEquals(Cents.INVALID, parse("12345678901234567"));
+        assertEquals(Cents.INVALID, parse("-"));
+        assertEquals(Cents.INVALID, parse("1.2.3"));
+        assertEquals(25_000_000, Cents.parse("2.5E5"));
+        assertThrows(NumberFormatException.class, () -> Cents.parse("abc"));
+    }
+
+    @Test
+    void whenConvertingDouble_thenItsShortestDecimalIsUsed() {
+        assertEquals(29, Cents.of(0.29));
+        assertEquals(30, Cents.of(0.1 + 0.2));
+        assertEquals(101, Cents.of(1.005));
+        assertEquals(99_999_999_999_999_99L, Cents.of(new BigDecimal("99999999999999.99")));
+        assertThrows(NumberFormatException.class, () -> Cents.of(Double.NaN));
+        assertThrows(ArithmeticException.class, () -> Cents.of(1e30));
+    }
+
+    private static long parse(String text) {
+        return Cents.parse(text.toCharArray(), 0, text.length());
+    }
+}
\ No newline at end of file